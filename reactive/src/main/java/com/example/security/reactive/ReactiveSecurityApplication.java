@@ -0,0 +1,51 @@
+package com.example.security.reactive;
+
+import com.example.security.config.AesKeyConfig;
+import com.example.security.config.CryptoExecutorConfig;
+import com.example.security.config.CryptoMetricsConfig;
+import com.example.security.config.CryptoPoolConfig;
+import com.example.security.config.IdGeneratorConfig;
+import com.example.security.config.LoggingMetricsConfig;
+import com.example.security.config.SchedulingConfig;
+import com.example.security.mapper.TransactionMapper;
+import com.example.security.service.impl.CryptoScheduler;
+import com.example.security.service.impl.TransactionPayloadCodec;
+import com.example.security.service.impl.TransactionRequestDecryptor;
+import com.example.security.util.BlindIndexer;
+import com.example.security.util.IdempotencyFingerprintSigner;
+import com.example.security.util.RsaKeyProvider;
+import com.example.security.util.TransferMetrics;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Reactive (WebFlux + R2DBC) variant of the transaction API. The crypto configuration, the bounded
+ * crypto executor, the wire formats and the entity mapping are imported from the servlet application;
+ * only the web, forwarding and persistence layers are reimplemented without blocking.
+ */
+@SpringBootApplication
+@Import({
+        AesKeyConfig.class,
+        CryptoExecutorConfig.class,
+        CryptoMetricsConfig.class,
+        CryptoPoolConfig.class,
+        IdGeneratorConfig.class,
+        LoggingMetricsConfig.class,
+        SchedulingConfig.class,
+        RsaKeyProvider.class,
+        BlindIndexer.class,
+        IdempotencyFingerprintSigner.class,
+        TransferMetrics.class,
+        CryptoScheduler.class,
+        TransactionRequestDecryptor.class,
+        TransactionPayloadCodec.class,
+        TransactionMapper.class
+})
+public class ReactiveSecurityApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveSecurityApplication.class, args);
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.example.security.reactive.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Non-blocking HTTP client used by the remote transaction forwarder.
+ * Requests beyond {@code max-connections} wait for a pooled connection without holding a thread;
+ * at most {@code max-pending-acquires} may wait, further requests fail at once.
+ */
+@Configuration
+@ConditionalOnProperty(name = "transaction.forwarder.mode", havingValue = "remote")
+public class ForwarderConfig {
+
+    @Value("${transaction.forwarder.url}")
+    private String url;
+
+    @Value("${transaction.forwarder.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${transaction.forwarder.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${transaction.forwarder.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Value("${transaction.forwarder.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${transaction.forwarder.max-pending-acquires:10000}")
+    private int maxPendingAcquires;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider transactionForwarderConnectionProvider() {
+        return ConnectionProvider.builder("transaction-forwarder")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPendingAcquires)
+                .pendingAcquireTimeout(Duration.ofMillis(connectTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(keepAliveMs))
+                .evictInBackground(Duration.ofMillis(keepAliveMs))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public WebClient transactionForwarderWebClient(WebClient.Builder builder, ConnectionProvider transactionForwarderConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(transactionForwarderConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs));
+        return builder
+                .baseUrl(url)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+}
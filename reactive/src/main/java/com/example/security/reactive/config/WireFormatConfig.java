@@ -0,0 +1,58 @@
+package com.example.security.reactive.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * Adds CBOR ({@code application/cbor}) next to JSON for request and response bodies, with the same
+ * Jackson settings as the JSON codec. The customizer applies to the WebFlux endpoints and to
+ * {@code WebClient} alike.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public CodecCustomizer cborCodecCustomizer(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder, ObjectMapper objectMapper) {
+        ObjectMapper cborMapper = jackson2ObjectMapperBuilder.factory(new CBORFactory()).build();
+        return configurer -> {
+            // custom writers are consulted before the defaults; keep JSON the answer to Accept: */*
+            configurer.customCodecs().register(new Jackson2JsonEncoder(objectMapper));
+            // the single-argument constructors fall back to the JSON mime types
+            configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+            configurer.customCodecs().register(new SingleValueCborEncoder(cborMapper));
+        };
+    }
+
+    /**
+     * The stock CBOR encoder only implements {@code encodeValue}; the HTTP writers call {@code encode}
+     * with a single-value publisher, so encode each value on its own.
+     */
+    private static final class SingleValueCborEncoder extends Jackson2CborEncoder {
+
+        private SingleValueCborEncoder(ObjectMapper cborMapper) {
+            super(cborMapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                       MimeType mimeType, Map<String, Object> hints) {
+            return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.security.reactive.controller;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.request.TransactionUserRequest;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.dto.response.TransactionResponse;
+import com.example.security.reactive.service.IReactiveIdempotencyService;
+import com.example.security.reactive.service.IReactiveTransactionForwarder;
+import com.example.security.reactive.service.IReactiveTransactionService;
+import com.example.security.util.IdempotencyFingerprintSigner;
+import com.example.security.util.TransferMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive controller for the transfer endpoints, with the same paths, bodies and headers as the
+ * servlet application. Handlers return {@link Mono}s and never block an event loop thread.
+ */
+@Tag(name = "Transaction API", description = "APIs for transaction operations")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/transactions")
+public class ReactiveTransactionController {
+
+    private final IReactiveTransactionService transactionService;
+    private final IReactiveTransactionForwarder transactionForwarder;
+    private final IReactiveIdempotencyService idempotencyService;
+    private final TransferMetrics transferMetrics;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyFingerprintSigner fingerprintSigner;
+
+    /**
+     * Receives transaction information, encrypts it, and forwards the request to the transaction creation step
+     * through the configured {@link IReactiveTransactionForwarder}.
+     * A repeated {@code Idempotency-Key} returns the stored response without re-running crypto or writes;
+     * the same key with a different request body answers 409.
+     *
+     * @param key the optional idempotency key of the submission
+     * @param transactionUserRequest the transaction request data
+     * @return ApiResponse containing the result of the transaction creation
+     */
+    @Operation(
+            summary = "Process Encrypted Transaction Information",
+            description = "Encrypts transaction data and forwards it to the transaction creation service"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully processed the transaction information",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid or malformed encrypted data"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Idempotency-Key already used with a different request"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error during decryption or processing"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Crypto executor saturated, retry after the Retry-After delay")
+    })
+    @PostMapping(value = "/info",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<ApiResponse<Object>>> receiveInfo(@RequestHeader(name = Constant.IDEMPOTENCY_KEY_HEADER, required = false) String key,
+                                                                 @Valid @RequestBody TransactionUserRequest transactionUserRequest) {
+        // the forwarded batch is re-encrypted on every attempt, so the fingerprint is taken here and passed on
+        IdempotencyKey idempotencyKey = key == null ? null : IdempotencyKey.of(key, toBytes(transactionUserRequest));
+        Mono<ResponseEntity<ApiResponse<Object>>> forward = transactionService.createListRequest(transactionUserRequest)
+                .flatMap(listTransactionRequest -> {
+                    Timer.Sample forwardSample = transferMetrics.start();
+                    return transactionForwarder.forward(listTransactionRequest, idempotencyKey)
+                            .doOnSuccess(forwardResponse -> transferMetrics.stop(forwardSample, Constant.STAGE_FORWARD));
+                })
+                .map(ResponseEntity::ok);
+        return findStoredResponse(idempotencyKey)
+                .map(storedResponse -> replay(HttpStatus.OK, storedResponse))
+                .switchIfEmpty(Mono.defer(() -> forward))
+                .onErrorResume(DataIntegrityViolationException.class, ex -> findAfterConflict(idempotencyKey, ex)
+                        .map(storedResponse -> replay(HttpStatus.OK, storedResponse)));
+    }
+
+    /**
+     * Create two transaction records (sender and receiver) and return their responses.
+     * A repeated {@code Idempotency-Key} returns the stored response without re-running crypto or writes;
+     * the same key with a different request answers 409. The request is identified by the
+     * {@code Idempotency-Fingerprint} header when a forwarding node sends one signed with the shared
+     * forwarder secret, otherwise by the hash of its body.
+     * Decryption runs on the crypto executor; when its queue is full the call fails fast with 503 and
+     * {@code Retry-After}.
+     *
+     * @param key the optional idempotency key of the submission
+     * @param fingerprint the optional fingerprint of the original request, set by a forwarding node
+     * @param signature the signature of the fingerprint, set by a forwarding node
+     * @param listTransactionRequest the transaction request data
+     * @return ApiResponse containing a list of transaction responses
+     */
+    @Operation(
+            summary = "Create Transaction Records",
+            description = "Creates two transaction records - one for the sender (with debt) and one for the receiver (with credit)"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Successfully created transaction records",
+                    content = @Content(schema = @Schema(implementation = TransactionResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid transaction request data"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Idempotency-Key already used with a different request"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error during transaction processing"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Crypto executor saturated, retry after the Retry-After delay")
+    })
+    @PostMapping(value = "/create",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public Mono<ResponseEntity<ApiResponse<Object>>> createTransaction(@RequestHeader(name = Constant.IDEMPOTENCY_KEY_HEADER, required = false) String key,
+                                                                       @RequestHeader(name = Constant.IDEMPOTENCY_FINGERPRINT_HEADER, required = false) String fingerprint,
+                                                                       @RequestHeader(name = Constant.IDEMPOTENCY_FINGERPRINT_SIGNATURE_HEADER, required = false) String signature,
+                                                                       @Valid @RequestBody ListTransactionRequest listTransactionRequest) {
+        IdempotencyKey idempotencyKey = createIdempotencyKey(key, fingerprint, signature, listTransactionRequest);
+        Mono<ResponseEntity<ApiResponse<Object>>> create = transactionService.createTransaction(listTransactionRequest, idempotencyKey)
+                .map(transactionResponses -> ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(Constant.SUCCESS, transactionResponses)));
+        return findStoredResponse(idempotencyKey)
+                .map(storedResponse -> replay(HttpStatus.CREATED, storedResponse))
+                .switchIfEmpty(Mono.defer(() -> create))
+                .onErrorResume(DataIntegrityViolationException.class, ex -> findAfterConflict(idempotencyKey, ex)
+                        .map(storedResponse -> replay(HttpStatus.CREATED, storedResponse)));
+    }
+
+    /**
+     * Take the fingerprint from a forwarding node only when it carries a valid signature; a client could
+     * otherwise send any fingerprint and bypass the check against the body.
+     */
+    private IdempotencyKey createIdempotencyKey(String key, String fingerprint, String signature, ListTransactionRequest listTransactionRequest) {
+        if (key == null) {
+            return null;
+        }
+        return fingerprintSigner.verify(key, fingerprint, signature)
+                ? IdempotencyKey.forwarded(key, fingerprint)
+                : IdempotencyKey.of(key, toBytes(listTransactionRequest));
+    }
+
+    /**
+     * Serialize a request as JSON for fingerprinting, so JSON and CBOR submissions of the same request match.
+     */
+    private byte[] toBytes(Object request) {
+        try {
+            return objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    private Mono<ApiResponse<Object>> findStoredResponse(IdempotencyKey idempotencyKey) {
+        return idempotencyKey == null ? Mono.empty() : idempotencyService.find(idempotencyKey);
+    }
+
+    /**
+     * A concurrent submission with the same key committed first and this one was rolled back
+     * on the idempotency key constraint; answer with the response of the winner.
+     */
+    private Mono<ApiResponse<Object>> findAfterConflict(IdempotencyKey idempotencyKey, DataIntegrityViolationException ex) {
+        if (idempotencyKey == null) {
+            return Mono.error(ex);
+        }
+        return idempotencyService.find(idempotencyKey).switchIfEmpty(Mono.error(ex));
+    }
+
+    private static ResponseEntity<ApiResponse<Object>> replay(HttpStatus status, ApiResponse<Object> storedResponse) {
+        return ResponseEntity.status(status)
+                .header(Constant.IDEMPOTENT_REPLAYED_HEADER, Boolean.TRUE.toString())
+                .body(storedResponse);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.security.reactive.exception;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.response.ErrorResponse;
+import com.example.security.exception.BadRequestException;
+import com.example.security.exception.ConflictException;
+import com.example.security.exception.ServiceOverloadedException;
+import com.example.security.util.CountingAsyncAppender;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Exception handler for the reactive API, returning the same error responses as the servlet application.
+ * Crypto failures reach here unwrapped, since {@code Mono.fromFuture} unwraps {@code CompletionException}.
+ * Client errors (4xx) are logged at WARN without a stack trace, like in the servlet application.
+ */
+@RestControllerAdvice
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handles RuntimeExceptions and returns a meaningful response.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<ErrorResponse<Object>> handleRuntimeException(RuntimeException ex) {
+        log.error(Constant.RUNTIME_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.ERROR, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+
+    /**
+     * Handles BadRequestExceptions and returns a meaningful response.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorResponse<Object>> handleBadRequestException(BadRequestException ex) {
+        logClientError(Constant.BAD_REQUEST_EXCEPTION_OCCURRED, ex);
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.BAD_REQUEST, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles WebExchangeBindException for validation errors.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse<Map<String, String>>> handleValidationException(WebExchangeBindException ex) {
+        logClientError(Constant.VALIDATION_EXCEPTION_OCCURRED, ex);
+
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage())
+        );
+
+        ErrorResponse<Map<String, String>> errorResponse = ErrorResponse.of(Constant.VALIDATION_ERROR, Constant.VALIDATION_FAILED, errors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles ServerWebInputException, such as a malformed request body or a missing parameter.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse<Object>> handleServerWebInputException(ServerWebInputException ex) {
+        logClientError(Constant.FAILED_TO_READ_REQUEST_BODY, ex);
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.INVALID_REQUEST_BODY, ex.getReason());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles DataAccessException for database-related errors.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(DataAccessException.class)
+    public ResponseEntity<ErrorResponse<Object>> handleDatabaseException(DataAccessException ex) {
+        log.error(Constant.DATABASE_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.ERROR, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+
+    /**
+     * Handles DataIntegrityViolationException for database constraint violations.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse<Object>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        logClientError(Constant.DATA_INTEGRITY_VIOLATION_OCCURRED, ex);
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.ERROR, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles IllegalArgumentException for invalid arguments.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse<Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        logClientError(Constant.ILLEGAL_ARGUMENT_EXCEPTION_OCCURRED, ex);
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.BAD_REQUEST, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Handles ConflictException for resource conflicts.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ErrorResponse<Object>> handleConflictException(ConflictException ex) {
+        logClientError(Constant.CONFLICT_EXCEPTION_OCCURRED, ex);
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.CONFLICT, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+
+    /**
+     * Handles ServiceOverloadedException when the crypto executor rejects work.
+     * Logged without a stack trace, since it is expected under load and says nothing about the request.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details and a Retry-After header
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse<Object>> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        log.warn(CountingAsyncAppender.DISCARDABLE, Constant.SERVICE_OVERLOADED_EXCEPTION_OCCURRED, ex.getMessage());
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.SERVICE_UNAVAILABLE, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    /**
+     * Handles all other exceptions and returns a meaningful response.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse<Object>> handleGenericException(Exception ex) {
+        log.error(Constant.UNEXPECTED_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.ERROR, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+    }
+
+    @ExceptionHandler({InvalidKeyException.class, NoSuchAlgorithmException.class, NoSuchPaddingException.class,
+            InvalidAlgorithmParameterException.class, IllegalBlockSizeException.class, BadPaddingException.class})
+    public ResponseEntity<ErrorResponse<Object>> handleCryptographicException(Exception ex) {
+        // a missing algorithm or padding, or an unusable key, is a server misconfiguration, not a bad request
+        if (ex instanceof InvalidKeyException || ex instanceof NoSuchAlgorithmException || ex instanceof NoSuchPaddingException) {
+            log.error(Constant.CRYPTOGRAPHIC_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+            ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.ERROR, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+        logClientError(Constant.CRYPTOGRAPHIC_EXCEPTION_OCCURRED, ex);
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.BAD_REQUEST, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    /**
+     * Log a client error at WARN, marked so the async appender may drop it when its queue is nearly full.
+     * The stack trace is only added when DEBUG is enabled for this class.
+     */
+    private static void logClientError(String message, Exception ex) {
+        if (log.isDebugEnabled()) {
+            log.warn(CountingAsyncAppender.DISCARDABLE, message, ex.getMessage(), ex);
+        } else {
+            log.warn(CountingAsyncAppender.DISCARDABLE, message, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.security.reactive.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC access to the {@code account_balance} table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveAccountBalanceRepository {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Atomically add a delta to an account balance, creating the row on first use.
+     * Same statement as the servlet application, so both stacks can write to one database.
+     */
+    public Mono<Void> addToBalance(String accountIndex, BigDecimal delta, LocalDateTime updatedAt) {
+        return databaseClient.sql("insert into account_balance (account_index, balance, updated_at) values (:accountIndex, :delta, :updatedAt)"
+                        + " on duplicate key update balance = balance + :delta, updated_at = :updatedAt")
+                .bind("accountIndex", accountIndex)
+                .bind("delta", delta)
+                .bind("updatedAt", updatedAt)
+                .then();
+    }
+}
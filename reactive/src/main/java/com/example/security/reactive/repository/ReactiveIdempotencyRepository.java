@@ -0,0 +1,49 @@
+package com.example.security.reactive.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC access to the {@code idempotency_keys} table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveIdempotencyRepository {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Find the stored response body of an idempotency key with the fingerprint of its request.
+     *
+     * @param idempotencyKey the idempotency key
+     * @return the stored record, or empty if the key has not been used
+     */
+    public Mono<StoredRecord> find(String idempotencyKey) {
+        return databaseClient.sql("select request_fingerprint, response_body from idempotency_keys where idempotency_key = :idempotencyKey")
+                .bind("idempotencyKey", idempotencyKey)
+                .map(row -> new StoredRecord(row.get("request_fingerprint", String.class), row.get("response_body", String.class)))
+                .one();
+    }
+
+    /**
+     * Insert a response body. A second insert of the same key fails on the primary key.
+     */
+    public Mono<Void> insert(String idempotencyKey, String requestFingerprint, String responseBody, LocalDateTime createdAt) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("insert into idempotency_keys (idempotency_key, request_fingerprint, response_body, created_at) values (:idempotencyKey, :requestFingerprint, :responseBody, :createdAt)")
+                .bind("idempotencyKey", idempotencyKey)
+                .bind("responseBody", responseBody)
+                .bind("createdAt", createdAt);
+        insert = requestFingerprint == null ? insert.bindNull("requestFingerprint", String.class) : insert.bind("requestFingerprint", requestFingerprint);
+        return insert.then();
+    }
+
+    /**
+     * A row of {@code idempotency_keys}; the fingerprint is null for rows written before it was stored.
+     */
+    public record StoredRecord(String requestFingerprint, String responseBody) {
+    }
+}
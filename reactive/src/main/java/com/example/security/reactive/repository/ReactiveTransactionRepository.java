@@ -0,0 +1,54 @@
+package com.example.security.reactive.repository;
+
+import com.example.security.enity.Transaction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * R2DBC access to the {@code transactions} table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveTransactionRepository {
+
+    private static final String INSERT = "insert into transactions (id, transaction_id, account, account_index, in_debt, have, transaction_time) values ";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Insert the legs with one multi-row statement. Ids must already be assigned.
+     *
+     * @param transactions the legs to insert
+     * @return completes when the rows are written
+     */
+    public Mono<Void> insertAll(List<Transaction> transactions) {
+        StringBuilder sql = new StringBuilder(INSERT);
+        for (int i = 0; i < transactions.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:id").append(i)
+                    .append(", :transactionId").append(i)
+                    .append(", :account").append(i)
+                    .append(", :accountIndex").append(i)
+                    .append(", :inDebt").append(i)
+                    .append(", :have").append(i)
+                    .append(", :time").append(i)
+                    .append(')');
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < transactions.size(); i++) {
+            Transaction transaction = transactions.get(i);
+            spec = spec.bind("id" + i, transaction.getId())
+                    .bind("transactionId" + i, transaction.getTransactionID())
+                    .bind("account" + i, transaction.getAccount())
+                    .bind("accountIndex" + i, transaction.getAccountIndex())
+                    .bind("inDebt" + i, transaction.getInDebt())
+                    .bind("have" + i, transaction.getHave())
+                    .bind("time" + i, transaction.getTime());
+        }
+        return spec.then();
+    }
+}
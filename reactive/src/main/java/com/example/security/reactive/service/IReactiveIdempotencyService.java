@@ -0,0 +1,30 @@
+package com.example.security.reactive.service;
+
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.response.ApiResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code Idempotency-Key} handling of the reactive stack, backed by the shared {@code idempotency_keys} table.
+ */
+public interface IReactiveIdempotencyService {
+
+    /**
+     * Find the response stored for an idempotency key and check it was stored for the same request.
+     *
+     * @param idempotencyKey the idempotency key with the fingerprint of the current request
+     * @return the stored response, or empty if the key has not been used; fails with
+     * {@link com.example.security.exception.ConflictException} if the key was used with a different request
+     */
+    Mono<ApiResponse<Object>> find(IdempotencyKey idempotencyKey);
+
+    /**
+     * Insert the response in the caller's database transaction.
+     * A concurrent submission with the same key fails on the primary key and rolls back.
+     *
+     * @param idempotencyKey the idempotency key with the fingerprint of the request
+     * @param response the response to store
+     * @return completes when the row is written
+     */
+    Mono<Void> record(IdempotencyKey idempotencyKey, ApiResponse<Object> response);
+}
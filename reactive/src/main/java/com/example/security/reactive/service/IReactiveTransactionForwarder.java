@@ -0,0 +1,22 @@
+package com.example.security.reactive.service;
+
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.response.ApiResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Forwards an encrypted transaction batch prepared by {@code /info} to the transaction creation step
+ * without blocking the caller.
+ */
+public interface IReactiveTransactionForwarder {
+
+    /**
+     * Forward the encrypted batch and return the creation result.
+     *
+     * @param listTransactionRequest the encrypted list transaction request
+     * @param idempotencyKey the Idempotency-Key of the submission with its request fingerprint, passed on to the creation step, or null
+     * @return ApiResponse containing the created transaction records
+     */
+    Mono<ApiResponse<Object>> forward(ListTransactionRequest listTransactionRequest, IdempotencyKey idempotencyKey);
+}
@@ -0,0 +1,33 @@
+package com.example.security.reactive.service;
+
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.request.TransactionUserRequest;
+import com.example.security.dto.response.TransactionResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Service interface for transaction operations on the reactive stack.
+ */
+public interface IReactiveTransactionService {
+
+    /**
+     * Prepare the encrypted batch for a transfer on the crypto executor.
+     *
+     * @param transactionUserRequest the transaction request data
+     * @return the list transaction request with prepared parameters
+     */
+    Mono<ListTransactionRequest> createListRequest(TransactionUserRequest transactionUserRequest);
+
+    /**
+     * Decrypt a batch on the crypto executor and save the two transaction records (sender and receiver).
+     * With an idempotency key the response is recorded in the same database transaction as the legs.
+     *
+     * @param listTransactionRequest the list transaction request data
+     * @param idempotencyKey the Idempotency-Key of the submission with its request fingerprint, or null
+     * @return list of transaction responses (sender and receiver)
+     */
+    Mono<List<TransactionResponse>> createTransaction(ListTransactionRequest listTransactionRequest, IdempotencyKey idempotencyKey);
+}
@@ -0,0 +1,33 @@
+package com.example.security.reactive.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.reactive.service.IReactiveTransactionForwarder;
+import com.example.security.reactive.service.IReactiveTransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Forwarder that hands the encrypted batch straight to {@link IReactiveTransactionService#createTransaction}
+ * in the same JVM. The batch still crosses the encrypt/decrypt boundary, only the HTTP hop is removed.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transaction.forwarder.mode", havingValue = "in-process", matchIfMissing = true)
+public class InProcessReactiveTransactionForwarder implements IReactiveTransactionForwarder {
+
+    private final IReactiveTransactionService transactionService;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ApiResponse<Object>> forward(ListTransactionRequest listTransactionRequest, IdempotencyKey idempotencyKey) {
+        return transactionService.createTransaction(listTransactionRequest, idempotencyKey)
+                .map(transactionResponses -> ApiResponse.success(Constant.SUCCESS, transactionResponses));
+    }
+}
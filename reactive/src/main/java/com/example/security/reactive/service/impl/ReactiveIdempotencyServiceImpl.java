@@ -0,0 +1,87 @@
+package com.example.security.reactive.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.exception.BadRequestException;
+import com.example.security.exception.ConflictException;
+import com.example.security.reactive.repository.ReactiveIdempotencyRepository;
+import com.example.security.reactive.service.IReactiveIdempotencyService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Service implementation for {@code Idempotency-Key} handling on the reactive stack.
+ * Responses are stored in the same format as by the servlet application, so a key used on one stack
+ * is replayed by the other, and a key reused for a different request is rejected with 409 on both.
+ * There is no cache tier; expired rows are deleted by the servlet application.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveIdempotencyServiceImpl implements IReactiveIdempotencyService {
+
+    private static final TypeReference<ApiResponse<Object>> API_RESPONSE_TYPE = new TypeReference<>() {
+    };
+
+    private final ReactiveIdempotencyRepository idempotencyRepository;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ApiResponse<Object>> find(IdempotencyKey idempotencyKey) {
+        return Mono.fromRunnable(() -> validate(idempotencyKey))
+                .then(idempotencyRepository.find(idempotencyKey.value()))
+                .map(storedRecord -> {
+                    if (storedRecord.requestFingerprint() != null && idempotencyKey.fingerprint() != null
+                            && !Objects.equals(storedRecord.requestFingerprint(), idempotencyKey.fingerprint())) {
+                        throw new ConflictException(Constant.IDEMPOTENCY_KEY_REUSED);
+                    }
+                    return fromJson(storedRecord.responseBody());
+                });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Void> record(IdempotencyKey idempotencyKey, ApiResponse<Object> response) {
+        return Mono.fromCallable(() -> {
+                    validate(idempotencyKey);
+                    return toJson(response);
+                })
+                .flatMap(responseBody -> idempotencyRepository.insert(idempotencyKey.value(), idempotencyKey.fingerprint(), responseBody, LocalDateTime.now()));
+    }
+
+    private static void validate(IdempotencyKey idempotencyKey) {
+        String key = idempotencyKey.value();
+        if (key == null || key.isBlank() || key.length() > Constant.IDEMPOTENCY_KEY_MAX_LENGTH) {
+            throw new BadRequestException(Constant.INVALID_IDEMPOTENCY_KEY);
+        }
+    }
+
+    private String toJson(ApiResponse<Object> response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    private ApiResponse<Object> fromJson(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, API_RESPONSE_TYPE);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+}
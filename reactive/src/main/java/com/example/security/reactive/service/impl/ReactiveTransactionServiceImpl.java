@@ -0,0 +1,98 @@
+package com.example.security.reactive.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.request.TransactionPayload;
+import com.example.security.dto.request.TransactionUserRequest;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.dto.response.TransactionResponse;
+import com.example.security.enity.Transaction;
+import com.example.security.mapper.TransactionMapper;
+import com.example.security.reactive.service.IReactiveIdempotencyService;
+import com.example.security.reactive.service.IReactiveTransactionService;
+import com.example.security.service.impl.CryptoScheduler;
+import com.example.security.service.impl.TransactionPayloadCodec;
+import com.example.security.util.TimeOrderedIds;
+import com.example.security.util.TransferMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service implementation for transaction business logic on the reactive stack.
+ * RSA and AES work runs on the bounded crypto executor through {@link CryptoScheduler}, never on an
+ * event loop thread; when its queue is full the call fails with 503 and {@code Retry-After}.
+ * The legs, balance updates and idempotency record are written over R2DBC in one database transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveTransactionServiceImpl implements IReactiveTransactionService {
+
+    private final TransactionPayloadCodec transactionPayloadCodec;
+
+    private final CryptoScheduler cryptoScheduler;
+
+    private final TransactionMapper transactionMapper;
+
+    private final TransferMetrics transferMetrics;
+
+    private final ReactiveTransactionWriter transactionWriter;
+
+    private final IReactiveIdempotencyService idempotencyService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ListTransactionRequest> createListRequest(TransactionUserRequest transactionUserRequest) {
+        return Mono.defer(() -> {
+            List<TransactionPayload> legs = transactionMapper.toLegs(transactionUserRequest, LocalDateTime.now());
+            Timer.Sample encryptSample = transferMetrics.start();
+            return Mono.fromFuture(cryptoScheduler.submit(() -> transactionPayloadCodec.encode(legs)))
+                    .doFinally(signal -> transferMetrics.stop(encryptSample, Constant.STAGE_RSA_ENCRYPT));
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<List<TransactionResponse>> createTransaction(ListTransactionRequest listTransactionRequest, IdempotencyKey idempotencyKey) {
+        return decryptTransactions(listTransactionRequest).flatMap(transactions -> {
+            transactions.forEach(transaction -> transaction.setId(TimeOrderedIds.nextId()));
+            List<TransactionResponse> transactionResponses = transactions.stream().map(transactionMapper::toResponse).toList();
+            Mono<Void> write = transactionWriter.write(transactions);
+            if (idempotencyKey != null) {
+                write = write.then(idempotencyService.record(idempotencyKey, ApiResponse.success(Constant.SUCCESS, transactionResponses)));
+            }
+            Timer.Sample persistSample = transferMetrics.start();
+            return write.as(transactionalOperator::transactional)
+                    .doFinally(signal -> transferMetrics.stop(persistSample, Constant.STAGE_PERSIST))
+                    .thenReturn(transactionResponses);
+        });
+    }
+
+    /**
+     * Decrypt a transfer batch and map its legs to entities on the crypto executor.
+     * Malformed requests and a full executor queue fail before anything is scheduled.
+     */
+    private Mono<List<Transaction>> decryptTransactions(ListTransactionRequest listTransactionRequest) {
+        return Mono.defer(() -> {
+            Timer.Sample decryptSample = transferMetrics.start();
+            return Mono.fromFuture(transactionPayloadCodec.decryptAsync(listTransactionRequest))
+                    .doFinally(signal -> transferMetrics.stop(decryptSample, Constant.STAGE_RSA_DECRYPT));
+        }).flatMap(decryptedLegs -> {
+            Timer.Sample encryptSample = transferMetrics.start();
+            return Mono.fromFuture(cryptoScheduler.submit(() -> transactionMapper.toEntities(decryptedLegs)))
+                    .doFinally(signal -> transferMetrics.stop(encryptSample, Constant.STAGE_AES_ENCRYPT));
+        });
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.security.reactive.service.impl;
+
+import com.example.security.enity.Transaction;
+import com.example.security.reactive.repository.ReactiveAccountBalanceRepository;
+import com.example.security.reactive.repository.ReactiveTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Persists transaction legs together with their balance updates on the reactive stack.
+ * Must run inside the caller's reactive database transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReactiveTransactionWriter {
+
+    private final ReactiveTransactionRepository transactionRepository;
+
+    private final ReactiveAccountBalanceRepository accountBalanceRepository;
+
+    /**
+     * Insert the legs and apply them to the account balances. Balances are updated one after the other
+     * in account order, like the servlet application, so concurrent transfers lock rows in the same order.
+     *
+     * @param transactions the transaction legs to persist, with ids assigned
+     * @return completes when the legs and balances are written
+     */
+    public Mono<Void> write(List<Transaction> transactions) {
+        Map<String, BigDecimal> deltas = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getAccountIndex() != null) {
+                deltas.merge(transaction.getAccountIndex(), transaction.getHave().subtract(transaction.getInDebt()), BigDecimal::add);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return transactionRepository.insertAll(transactions)
+                .thenMany(Flux.fromIterable(deltas.entrySet()))
+                .concatMap(delta -> accountBalanceRepository.addToBalance(delta.getKey(), delta.getValue(), now))
+                .then();
+    }
+}
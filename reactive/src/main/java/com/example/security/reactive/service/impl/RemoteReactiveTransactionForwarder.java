@@ -0,0 +1,79 @@
+package com.example.security.reactive.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.reactive.service.IReactiveTransactionForwarder;
+import com.example.security.util.IdempotencyFingerprintSigner;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Forwarder that posts the encrypted batch to a remote {@code /create} endpoint over the shared,
+ * connection-pooled {@link WebClient}. The request thread is released while the hop is in flight.
+ * The batch is sent as JSON or, with {@code transaction.forwarder.wire-format=cbor}, as CBOR.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transaction.forwarder.mode", havingValue = "remote")
+public class RemoteReactiveTransactionForwarder implements IReactiveTransactionForwarder {
+
+    private static final ParameterizedTypeReference<ApiResponse<Object>> API_RESPONSE_TYPE = new ParameterizedTypeReference<>() {
+    };
+
+    private final WebClient transactionForwarderWebClient;
+
+    private final IdempotencyFingerprintSigner fingerprintSigner;
+
+    @Value("${transaction.forwarder.wire-format:json}")
+    private String wireFormat;
+
+    /**
+     * Without the shared secret the remote node cannot trust the forwarded fingerprint and would answer
+     * a retried forward, whose batch is re-encrypted, with 409.
+     */
+    @PostConstruct
+    public void init() {
+        if (!fingerprintSigner.isConfigured()) {
+            throw new IllegalStateException(Constant.IDEMPOTENCY_FORWARDER_SECRET_NOT_CONFIGURED);
+        }
+    }
+
+    /**
+     * Post the encrypted batch to the configured create endpoint. The idempotency key is sent on as the
+     * {@code Idempotency-Key} header, so a retried forward is deduplicated by the remote node, and its
+     * fingerprint as the {@code Idempotency-Fingerprint} header, since the re-encrypted batch differs on every forward,
+     * signed with the forwarder secret in {@code Idempotency-Fingerprint-Signature}.
+     *
+     * @param listTransactionRequest the encrypted list transaction request
+     * @param idempotencyKey the Idempotency-Key of the submission with its request fingerprint, or null
+     * @return ApiResponse returned by the remote node
+     */
+    @Override
+    public Mono<ApiResponse<Object>> forward(ListTransactionRequest listTransactionRequest, IdempotencyKey idempotencyKey) {
+        MediaType mediaType = Constant.WIRE_FORMAT_CBOR.equalsIgnoreCase(wireFormat) ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON;
+        return transactionForwarderWebClient.post()
+                .contentType(mediaType)
+                .accept(mediaType)
+                .headers(headers -> {
+                    if (idempotencyKey != null) {
+                        headers.set(Constant.IDEMPOTENCY_KEY_HEADER, idempotencyKey.value());
+                        if (idempotencyKey.fingerprint() != null) {
+                            headers.set(Constant.IDEMPOTENCY_FINGERPRINT_HEADER, idempotencyKey.fingerprint());
+                            headers.set(Constant.IDEMPOTENCY_FINGERPRINT_SIGNATURE_HEADER, fingerprintSigner.sign(idempotencyKey));
+                        }
+                    }
+                })
+                .bodyValue(listTransactionRequest)
+                .retrieve()
+                .bodyToMono(API_RESPONSE_TYPE);
+    }
+}
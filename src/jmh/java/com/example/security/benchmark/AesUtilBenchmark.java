@@ -0,0 +1,102 @@
+package com.example.security.benchmark;
+
+import com.example.security.util.AesUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link AesUtil} encryption and decryption across plain text sizes, through the
+ * String API and through the {@link ByteBuffer} API with preallocated heap or direct buffers. Run with
+ * {@code -prof gc} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AesUtilBenchmark {
+
+    @Param({"16", "256", "4096"})
+    private int payloadSize;
+
+    @Param({"heap", "direct"})
+    private String bufferType;
+
+    private String plainText;
+
+    private String encryptedText;
+
+    private ByteBuffer plainBuffer;
+
+    private ByteBuffer encryptedBuffer;
+
+    private ByteBuffer base64Buffer;
+
+    private ByteBuffer outputBuffer;
+
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkFixtures.useAesKey();
+        plainText = BenchmarkFixtures.text(payloadSize);
+        encryptedText = AesUtil.encrypt(plainText);
+
+        byte[] plainBytes = plainText.getBytes(StandardCharsets.UTF_8);
+        plainBuffer = allocate(plainBytes.length).put(plainBytes).flip();
+        encryptedBuffer = allocate(AesUtil.encryptedLength(plainBytes.length));
+        AesUtil.encrypt(plainBuffer, encryptedBuffer);
+        encryptedBuffer.flip();
+        plainBuffer.rewind();
+        byte[] base64Bytes = encryptedText.getBytes(StandardCharsets.US_ASCII);
+        base64Buffer = allocate(base64Bytes.length).put(base64Bytes).flip();
+        outputBuffer = allocate(base64Bytes.length);
+    }
+
+    @Benchmark
+    public String encrypt() throws Exception {
+        return AesUtil.encrypt(plainText);
+    }
+
+    @Benchmark
+    public String decrypt() throws Exception {
+        return AesUtil.decrypt(encryptedText);
+    }
+
+    private ByteBuffer allocate(int capacity) {
+        return "direct".equals(bufferType) ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    @Benchmark
+    public int encryptBuffer() throws Exception {
+        plainBuffer.rewind();
+        outputBuffer.clear();
+        return AesUtil.encrypt(plainBuffer, outputBuffer);
+    }
+
+    @Benchmark
+    public int decryptBuffer() throws Exception {
+        encryptedBuffer.rewind();
+        outputBuffer.clear();
+        return AesUtil.decrypt(encryptedBuffer, outputBuffer);
+    }
+
+    @Benchmark
+    public int decryptBase64Buffer() throws Exception {
+        base64Buffer.rewind();
+        outputBuffer.clear();
+        return AesUtil.decryptFromBase64(base64Buffer, outputBuffer);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.security.benchmark;
+
+import com.example.security.enity.Transaction;
+import com.example.security.mapper.TransactionMapper;
+import com.example.security.repository.AccountBalanceRepository;
+import com.example.security.repository.TransactionRepository;
+import com.example.security.service.IIdempotencyService;
+import com.example.security.service.impl.AccountBalanceServiceImpl;
+import com.example.security.service.impl.CryptoScheduler;
+import com.example.security.service.impl.PersistScheduler;
+import com.example.security.service.impl.TransactionCommitter;
+import com.example.security.service.impl.TransactionPayloadCodec;
+import com.example.security.service.impl.TransactionRequestDecryptor;
+import com.example.security.service.impl.TransactionServiceImpl;
+import com.example.security.service.impl.TransactionWriter;
+import com.example.security.util.AesKeyring;
+import com.example.security.util.AesUtil;
+import com.example.security.util.BlindIndexer;
+import com.example.security.util.RsaKeyProvider;
+import com.example.security.util.RsaUtil;
+import com.example.security.util.TimeOrderedIds;
+import com.example.security.util.TransferMetrics;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Proxy;
+import java.security.KeyPair;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Builds the transfer pipeline without a Spring context or a database, so benchmarks measure
+ * crypto, mapping and serialization cost only.
+ */
+final class BenchmarkFixtures {
+
+    private static final String BLIND_INDEX_KEY = "benchmark-blind-index-key";
+
+    private static final String AES_KEY = "benchmark-aes-16";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Create an ASCII text of the given length.
+     */
+    static String text(int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('0' + i % 10));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Install a legacy AES key, as {@code AesKeyConfig} does from {@code aes.secret-key}.
+     */
+    static void useAesKey() {
+        AesUtil.useKeyring(AesKeyring.of(AES_KEY, "", Map.of()));
+    }
+
+    /**
+     * Create a transaction service wired to a fresh RSA key pair and in-memory repository stubs.
+     *
+     * @param payloadMode     {@code hybrid}, {@code per-field} or {@code signed}
+     * @param cryptoExecutor  the executor used for parallel per-field decryption
+     */
+    static TransactionServiceImpl transactionService(String payloadMode, ExecutorService cryptoExecutor) throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RsaUtil rsaUtil = new RsaUtil();
+        KeyPair keyPair = RsaUtil.generateKeyPair();
+        RsaKeyProvider rsaKeyProvider = new RsaKeyProvider(meterRegistry);
+        ReflectionTestUtils.setField(rsaKeyProvider, "publicKeyString", rsaUtil.publicKeyToString(keyPair.getPublic()));
+        ReflectionTestUtils.setField(rsaKeyProvider, "privateKeyString", rsaUtil.privateKeyToString(keyPair.getPrivate()));
+        ReflectionTestUtils.setField(rsaKeyProvider, "publicKeyPath", "");
+        ReflectionTestUtils.setField(rsaKeyProvider, "privateKeyPath", "");
+        rsaKeyProvider.init();
+
+        CryptoScheduler cryptoScheduler = new CryptoScheduler(cryptoExecutor, meterRegistry);
+        TransactionRequestDecryptor transactionRequestDecryptor = new TransactionRequestDecryptor(cryptoScheduler);
+        ReflectionTestUtils.setField(transactionRequestDecryptor, "parallelEnabled", true);
+        TransactionPayloadCodec transactionPayloadCodec = new TransactionPayloadCodec(rsaKeyProvider,
+                JsonMapper.builder().findAndAddModules().build(), transactionRequestDecryptor, cryptoScheduler);
+        ReflectionTestUtils.setField(transactionPayloadCodec, "payloadMode", payloadMode);
+
+        useAesKey();
+        BlindIndexer blindIndexer = new BlindIndexer(BLIND_INDEX_KEY);
+        TransactionRepository transactionRepository = inMemoryTransactionRepository();
+        TransactionWriter transactionWriter = new TransactionWriter(transactionRepository,
+                new AccountBalanceServiceImpl(inMemoryAccountBalanceRepository(), blindIndexer));
+        TransferMetrics transferMetrics = new TransferMetrics(meterRegistry);
+        TransactionMapper transactionMapper = new TransactionMapper(blindIndexer);
+        TransactionCommitter transactionCommitter = new TransactionCommitter(
+                transactionWriter,
+                transactionMapper,
+                stub(IIdempotencyService.class, (method, args) -> {
+                    throw new UnsupportedOperationException(method);
+                }),
+                new TransactionTemplate(noOpTransactionManager()),
+                transferMetrics,
+                meterRegistry,
+                // only the synchronous createTransaction is measured, so nothing is scheduled here
+                new PersistScheduler(cryptoExecutor, meterRegistry));
+
+        return new TransactionServiceImpl(
+                transactionRepository,
+                transactionPayloadCodec,
+                transferMetrics,
+                transactionMapper,
+                blindIndexer,
+                transactionCommitter);
+    }
+
+    /**
+     * A repository whose {@code saveAll} assigns ids like the real generator and keeps nothing.
+     */
+    @SuppressWarnings("unchecked")
+    private static TransactionRepository inMemoryTransactionRepository() {
+        return stub(TransactionRepository.class, (method, args) -> {
+            if ("saveAll".equals(method)) {
+                List<Transaction> transactions = (List<Transaction>) args[0];
+                transactions.forEach(transaction -> transaction.setId(TimeOrderedIds.nextId()));
+                return transactions;
+            }
+            throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private static PlatformTransactionManager noOpTransactionManager() {
+        return stub(PlatformTransactionManager.class, (method, args) ->
+                "getTransaction".equals(method) ? new SimpleTransactionStatus() : null);
+    }
+
+    private static AccountBalanceRepository inMemoryAccountBalanceRepository() {
+        return stub(AccountBalanceRepository.class, (method, args) -> {
+            if ("addToBalance".equals(method)) {
+                return 1;
+            }
+            throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private static <T> T stub(Class<T> type, StubMethod stubMethod) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> type.getSimpleName() + "Stub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> stubMethod.invoke(method.getName(), args);
+                }));
+    }
+
+    @FunctionalInterface
+    private interface StubMethod {
+        Object invoke(String method, Object[] args);
+    }
+}
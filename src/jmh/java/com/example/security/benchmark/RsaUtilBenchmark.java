@@ -0,0 +1,93 @@
+package com.example.security.benchmark;
+
+import com.example.security.util.RsaUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link RsaUtil} encryption, decryption, signing, verification and key parsing
+ * with a 2048-bit key. Plain texts stay below the PKCS#1 v1.5 limit of 245 bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RsaUtilBenchmark {
+
+    @Param({"16", "128", "240"})
+    private int payloadSize;
+
+    private final RsaUtil rsaUtil = new RsaUtil();
+
+    private PublicKey publicKey;
+
+    private PrivateKey privateKey;
+
+    private String publicKeyString;
+
+    private String privateKeyString;
+
+    private String plainText;
+
+    private String encryptedText;
+
+    private String signature;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPair keyPair = RsaUtil.generateKeyPair();
+        publicKey = keyPair.getPublic();
+        privateKey = keyPair.getPrivate();
+        publicKeyString = rsaUtil.publicKeyToString(publicKey);
+        privateKeyString = rsaUtil.privateKeyToString(privateKey);
+        plainText = BenchmarkFixtures.text(payloadSize);
+        encryptedText = RsaUtil.encrypt(plainText, publicKey);
+        signature = rsaUtil.sign(plainText, privateKey);
+    }
+
+    @Benchmark
+    public String encrypt() throws Exception {
+        return RsaUtil.encrypt(plainText, publicKey);
+    }
+
+    @Benchmark
+    public String decrypt() throws Exception {
+        return RsaUtil.decrypt(encryptedText, privateKey);
+    }
+
+    @Benchmark
+    public String sign() throws Exception {
+        return rsaUtil.sign(plainText, privateKey);
+    }
+
+    @Benchmark
+    public boolean verify() throws Exception {
+        return rsaUtil.verify(plainText, signature, publicKey);
+    }
+
+    @Benchmark
+    public PublicKey parsePublicKey() throws Exception {
+        return RsaUtil.stringToPublicKey(publicKeyString);
+    }
+
+    @Benchmark
+    public PrivateKey parsePrivateKey() throws Exception {
+        return RsaUtil.stringToPrivateKey(privateKeyString);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.security.benchmark;
+
+import com.example.security.util.TimeOrderedIds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of transaction rows against a real MySQL instance, comparing what Hibernate
+ * does with {@code IDENTITY} ids (one statement per row, generated key read back) with
+ * pre-assigned time-ordered ids sent as one JDBC batch. {@code commit-per-transfer} sends the same
+ * batched inserts but commits after every transfer (two rows), which is what {@code /create} does
+ * without group commit; the difference to {@code time-ordered-batch} is the commit cost group commit saves.
+ * <p>
+ * Needs {@code JMH_JDBC_URL} (include {@code rewriteBatchedStatements=true}), {@code JMH_JDBC_USER}
+ * and {@code JMH_JDBC_PASSWORD}. The benchmark uses its own scratch tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionInsertBenchmark {
+
+    private static final int ROWS = 50;
+
+    private static final int ROWS_PER_TRANSFER = 2;
+
+    private static final String IDENTITY_TABLE = "bench_transactions_identity";
+
+    private static final String TIME_ORDERED_TABLE = "bench_transactions_time_ordered";
+
+    @Param({"identity", "time-ordered-batch", "commit-per-transfer"})
+    private String strategy;
+
+    private Connection connection;
+
+    private PreparedStatement insertStatement;
+
+    @Setup
+    public void setUp() throws Exception {
+        String url = System.getenv("JMH_JDBC_URL");
+        if (url == null || url.isBlank()) {
+            throw new IllegalStateException("JMH_JDBC_URL is not set");
+        }
+        connection = DriverManager.getConnection(url, System.getenv("JMH_JDBC_USER"), System.getenv("JMH_JDBC_PASSWORD"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + IDENTITY_TABLE);
+            statement.execute("drop table if exists " + TIME_ORDERED_TABLE);
+            statement.execute("create table " + IDENTITY_TABLE + " (id bigint auto_increment primary key, transaction_id varchar(255),"
+                    + " account varchar(255), in_debt decimal(38,2), have decimal(38,2), transaction_time datetime(6))");
+            statement.execute("create table " + TIME_ORDERED_TABLE + " (id bigint primary key, transaction_id varchar(255),"
+                    + " account varchar(255), in_debt decimal(38,2), have decimal(38,2), transaction_time datetime(6))");
+        }
+        connection.setAutoCommit(false);
+        if ("identity".equals(strategy)) {
+            insertStatement = connection.prepareStatement("insert into " + IDENTITY_TABLE
+                    + " (transaction_id, account, in_debt, have, transaction_time) values (?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS);
+        } else {
+            insertStatement = connection.prepareStatement("insert into " + TIME_ORDERED_TABLE
+                    + " (id, transaction_id, account, in_debt, have, transaction_time) values (?, ?, ?, ?, ?, ?)");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        insertStatement.close();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long insertRows() throws Exception {
+        return switch (strategy) {
+            case "identity" -> insertWithIdentity();
+            case "commit-per-transfer" -> insertWithCommitPerTransfer();
+            default -> insertWithTimeOrderedBatch();
+        };
+    }
+
+    private long insertWithIdentity() throws Exception {
+        long lastId = 0;
+        for (int i = 0; i < ROWS; i++) {
+            bindRow(1);
+            insertStatement.executeUpdate();
+            try (ResultSet generatedKeys = insertStatement.getGeneratedKeys()) {
+                generatedKeys.next();
+                lastId = generatedKeys.getLong(1);
+            }
+        }
+        connection.commit();
+        return lastId;
+    }
+
+    private long insertWithTimeOrderedBatch() throws Exception {
+        long lastId = 0;
+        for (int i = 0; i < ROWS; i++) {
+            lastId = TimeOrderedIds.nextId();
+            insertStatement.setLong(1, lastId);
+            bindRow(2);
+            insertStatement.addBatch();
+        }
+        insertStatement.executeBatch();
+        connection.commit();
+        return lastId;
+    }
+
+    private long insertWithCommitPerTransfer() throws Exception {
+        long lastId = 0;
+        for (int i = 0; i < ROWS; i++) {
+            lastId = TimeOrderedIds.nextId();
+            insertStatement.setLong(1, lastId);
+            bindRow(2);
+            insertStatement.addBatch();
+            if ((i + 1) % ROWS_PER_TRANSFER == 0) {
+                insertStatement.executeBatch();
+                connection.commit();
+            }
+        }
+        return lastId;
+    }
+
+    private void bindRow(int firstIndex) throws Exception {
+        insertStatement.setString(firstIndex, UUID.randomUUID().toString());
+        insertStatement.setString(firstIndex + 1, "benchmark-account");
+        insertStatement.setBigDecimal(firstIndex + 2, BigDecimal.ZERO);
+        insertStatement.setBigDecimal(firstIndex + 3, BigDecimal.TEN);
+        insertStatement.setTimestamp(firstIndex + 4, new Timestamp(System.currentTimeMillis()));
+    }
+}
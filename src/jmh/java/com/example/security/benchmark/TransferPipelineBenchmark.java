@@ -0,0 +1,82 @@
+package com.example.security.benchmark;
+
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.request.TransactionUserRequest;
+import com.example.security.dto.response.TransactionResponse;
+import com.example.security.service.impl.TransactionServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the two halves of the transfer flow, {@code createListRequest} and
+ * {@code createTransaction}, for both payload formats and several account lengths.
+ * The repositories are in-memory stubs, so the numbers exclude the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferPipelineBenchmark {
+
+    @Param({"hybrid", "per-field", "signed"})
+    private String payloadMode;
+
+    @Param({"12", "64"})
+    private int accountLength;
+
+    private ExecutorService cryptoExecutor;
+
+    private TransactionServiceImpl transactionService;
+
+    private TransactionUserRequest transactionUserRequest;
+
+    private ListTransactionRequest listTransactionRequest;
+
+    @Setup
+    public void setUp() throws Exception {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("crypto-");
+        threadFactory.setDaemon(true);
+        cryptoExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), threadFactory);
+        transactionService = BenchmarkFixtures.transactionService(payloadMode, cryptoExecutor);
+
+        transactionUserRequest = new TransactionUserRequest();
+        transactionUserRequest.setAccountSender("S" + BenchmarkFixtures.text(accountLength - 1));
+        transactionUserRequest.setAccountReceiver("R" + BenchmarkFixtures.text(accountLength - 1));
+        transactionUserRequest.setTransferAmount(new BigDecimal("1250.75"));
+        listTransactionRequest = transactionService.createListRequest(transactionUserRequest);
+    }
+
+    @TearDown
+    public void tearDown() {
+        cryptoExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public ListTransactionRequest createListRequest() throws Exception {
+        return transactionService.createListRequest(transactionUserRequest);
+    }
+
+    @Benchmark
+    public List<TransactionResponse> createTransaction() throws Exception {
+        return transactionService.createTransaction(listTransactionRequest, null);
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.security.benchmark;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.request.TransactionUserRequest;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.service.impl.TransactionServiceImpl;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization and parse time of JSON against CBOR for the {@code /create} request body and the
+ * response of {@code /create}, built with the same mapper settings as the application. The encoded
+ * size of each body in both formats is printed once per trial, so the output shows bytes on wire next
+ * to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"per-field", "hybrid", "signed"})
+    private String payloadMode;
+
+    @Param({"request", "response"})
+    private String body;
+
+    private ObjectMapper jsonMapper;
+
+    private ObjectMapper cborMapper;
+
+    private Object value;
+
+    private JavaType valueType;
+
+    private byte[] json;
+
+    private byte[] cbor;
+
+    @Setup
+    public void setUp() throws Exception {
+        jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+        cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("crypto-");
+        threadFactory.setDaemon(true);
+        ExecutorService cryptoExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), threadFactory);
+        try {
+            TransactionServiceImpl transactionService = BenchmarkFixtures.transactionService(payloadMode, cryptoExecutor);
+            TransactionUserRequest transactionUserRequest = new TransactionUserRequest();
+            transactionUserRequest.setAccountSender("S" + BenchmarkFixtures.text(19));
+            transactionUserRequest.setAccountReceiver("R" + BenchmarkFixtures.text(19));
+            transactionUserRequest.setTransferAmount(new BigDecimal("1250.75"));
+            ListTransactionRequest listTransactionRequest = transactionService.createListRequest(transactionUserRequest);
+            if ("request".equals(body)) {
+                value = listTransactionRequest;
+                valueType = jsonMapper.constructType(ListTransactionRequest.class);
+            } else {
+                value = ApiResponse.success(Constant.SUCCESS, transactionService.createTransaction(listTransactionRequest, null));
+                valueType = jsonMapper.getTypeFactory().constructParametricType(ApiResponse.class, Object.class);
+            }
+        } finally {
+            cryptoExecutor.shutdownNow();
+        }
+        json = jsonMapper.writeValueAsBytes(value);
+        cbor = cborMapper.writeValueAsBytes(value);
+        System.out.printf("%n%s %s bytes on wire: json=%d cbor=%d (%.1f%%)%n",
+                payloadMode, body, json.length, cbor.length, 100.0 * cbor.length / json.length);
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws Exception {
+        return jsonMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] writeCbor() throws Exception {
+        return cborMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object readJson() throws Exception {
+        return jsonMapper.readValue(json, valueType);
+    }
+
+    @Benchmark
+    public Object readCbor() throws Exception {
+        return cborMapper.readValue(cbor, valueType);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.security.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test for {@code POST /api/v1/transactions/info}.
+ * <p>
+ * For each concurrency level it keeps exactly that many transfers in flight for the given duration
+ * and records throughput, error rate and latency percentiles. Run it once against an instance with
+ * {@code spring.threads.virtual.enabled=false} and once with {@code true}; the highest level that
+ * still completes without errors is the maximum number of concurrent in-flight transfers.
+ * To compare the servlet and the reactive stack, run it against both on the same database with the same
+ * crypto executor settings, e.g. {@code http://localhost:8080} and {@code http://localhost:8081}
+ * (see {@code reactive/pom.xml}), and compare the throughput and p99 of each level.
+ * <p>
+ * Arguments: {@code <base url> <concurrency levels, comma separated> <seconds per level> <result file>}
+ * <p>
+ * Each level is logged when it finishes; all levels are written as JSON to the result file
+ * ({@code target/load-test-result.json} when run through the {@code load-test} execution).
+ */
+@Slf4j
+public final class TransferLoadGenerator {
+
+    private static final String INFO_PATH = "/api/v1/transactions/info";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final int ACCOUNTS = 1000;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final URI infoUri;
+
+    private TransferLoadGenerator(String baseUrl) {
+        this.infoUri = URI.create(baseUrl + INFO_PATH);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            throw new IllegalArgumentException("Usage: TransferLoadGenerator <base url> <concurrency levels> <seconds per level> <result file>");
+        }
+        TransferLoadGenerator generator = new TransferLoadGenerator(args[0]);
+        int[] concurrencyLevels = Arrays.stream(args[1].split(",")).map(String::trim).mapToInt(Integer::parseInt).toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[2]));
+
+        List<StepResult> results = new ArrayList<>();
+        for (int concurrency : concurrencyLevels) {
+            StepResult result = generator.runStep(concurrency, duration);
+            log.info("concurrency={} maxInFlight={} succeeded={} failed={} throughput={}/s p50={}ms p99={}ms max={}ms",
+                    result.concurrency(), result.maxInFlight(), result.succeeded(), result.failed(),
+                    String.format("%.1f", result.throughputPerSecond()), String.format("%.2f", result.p50Millis()),
+                    String.format("%.2f", result.p99Millis()), String.format("%.2f", result.maxMillis()));
+            results.add(result);
+        }
+        File resultFile = new File(args[3]);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile, results);
+        log.info("Wrote {} levels to {}", results.size(), resultFile.getAbsolutePath());
+    }
+
+    private StepResult runStep(int concurrency, Duration duration) throws InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        LongAdder errors = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+        while (System.nanoTime() < endNanos) {
+            if (!permits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            long requestStart = System.nanoTime();
+            httpClient.sendAsync(transferRequest(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        if (ex != null || response.statusCode() >= 400) {
+                            errors.increment();
+                        } else {
+                            latencies.add(System.nanoTime() - requestStart);
+                        }
+                        inFlight.decrementAndGet();
+                        permits.release();
+                    });
+        }
+        permits.acquire(concurrency);
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new StepResult(
+                concurrency,
+                maxInFlight.get(),
+                sorted.length,
+                errors.sum(),
+                sorted.length / (elapsedNanos / 1e9),
+                percentileMillis(sorted, 0.50),
+                percentileMillis(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6
+        );
+    }
+
+    private HttpRequest transferRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String body = "{\"accountSender\":\"LT" + random.nextInt(ACCOUNTS)
+                + "\",\"accountReceiver\":\"LT" + random.nextInt(ACCOUNTS)
+                + "\",\"transferAmount\":" + (random.nextInt(10_000) + 1) + "}";
+        return HttpRequest.newBuilder(infoUri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    /**
+     * Outcome of one concurrency level.
+     */
+    public record StepResult(int concurrency, int maxInFlight, long succeeded, long failed,
+                             double throughputPerSecond, double p50Millis, double p99Millis, double maxMillis) {
+    }
+}
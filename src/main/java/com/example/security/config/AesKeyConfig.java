@@ -0,0 +1,41 @@
+package com.example.security.config;
+
+import com.example.security.constant.Constant;
+import com.example.security.util.AesKeyring;
+import com.example.security.util.AesUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads the AES keys of the {@code account} column, the legacy key {@code aes.secret-key} and the
+ * versioned keys {@code aes.keys.<id>} with {@code aes.active-key-id}, and installs them in {@link AesUtil}
+ * together with the write mode {@code aes.mode}. Without an active key id new values are written with the
+ * legacy key; startup fails when neither is configured.
+ */
+@Slf4j
+@Configuration
+public class AesKeyConfig {
+
+    @Bean
+    public AesKeyring aesKeyring(Environment environment,
+                                 @Value("${aes.secret-key:}") String legacyKey,
+                                 @Value("${aes.active-key-id:}") String activeKeyId,
+                                 @Value("${aes.mode:cbc}") String mode) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        Binder.get(environment).bind("aes.keys", Bindable.mapOf(String.class, String.class)).ifBound(keys::putAll);
+        keys.values().removeIf(String::isBlank);
+        AesKeyring aesKeyring = AesKeyring.of(legacyKey, activeKeyId, keys);
+        AesUtil.useKeyring(aesKeyring);
+        AesUtil.useMode(mode);
+        log.info(Constant.AES_KEYRING_LOADED, aesKeyring.getKeyIds(), aesKeyring.getActiveKeyId(), mode);
+        return aesKeyring;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.security.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor that runs CPU-bound crypto work such as RSA private-key decryption.
+ * It is sized to the number of cores by default so crypto work cannot oversubscribe the CPU, and its
+ * queue is bounded by {@code crypto.executor.queue-capacity}: when it is full, submissions are rejected
+ * instead of piling up (see {@link com.example.security.service.impl.CryptoScheduler}).
+ * Queue depth, queue wait ({@code executor.idle}) and run time are published under {@code name=crypto}.
+ * With {@code crypto.executor.virtual-threads} (Java 21+) every task gets its own virtual thread
+ * instead; this is meant for comparison runs, since CPU-bound work gains nothing from it.
+ */
+@Configuration
+public class CryptoExecutorConfig {
+
+    @Value("${crypto.executor.threads:0}")
+    private int threads;
+
+    @Value("${crypto.executor.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Value("${crypto.executor.virtual-threads:false}")
+    private boolean virtualThreads;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService cryptoExecutor(MeterRegistry meterRegistry) {
+        if (virtualThreads) {
+            return ExecutorServiceMetrics.monitor(meterRegistry,
+                    Executors.newCachedThreadPool(new VirtualThreadTaskExecutor("crypto-").getVirtualThreadFactory()), "crypto");
+        }
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("crypto-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "crypto");
+    }
+}
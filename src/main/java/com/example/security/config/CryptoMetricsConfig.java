@@ -0,0 +1,42 @@
+package com.example.security.config;
+
+import com.example.security.util.AesUtil;
+import com.example.security.util.RsaUtil;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Publishes the operation counters of the static crypto utilities as
+ * {@code crypto.operations{algorithm=..., operation=...}}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CryptoMetricsConfig {
+
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void init() {
+        register("aes", "encrypt", AesUtil::getEncryptCount);
+        register("aes", "decrypt", AesUtil::getDecryptCount);
+        register("rsa", "encrypt", RsaUtil::getEncryptCount);
+        register("rsa", "decrypt", RsaUtil::getDecryptCount);
+        register("rsa", "wrap", RsaUtil::getWrapCount);
+        register("rsa", "unwrap", RsaUtil::getUnwrapCount);
+        register("rsa", "sign", RsaUtil::getSignCount);
+        register("rsa", "verify", RsaUtil::getVerifyCount);
+    }
+
+    private void register(String algorithm, String operation, LongSupplier count) {
+        FunctionCounter.builder("crypto.operations", count, LongSupplier::getAsLong)
+                .description("Number of crypto operations performed")
+                .tag("algorithm", algorithm)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.security.config;
+
+import com.example.security.util.CryptoEnginePool;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies the crypto engine pool settings and exposes its hit/miss counters.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CryptoPoolConfig {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${crypto.pool.enabled:true}")
+    private boolean enabled;
+
+    @Value("${crypto.pool.max-idle:64}")
+    private int maxIdle;
+
+    @PostConstruct
+    public void init() {
+        CryptoEnginePool.configure(enabled, maxIdle);
+        FunctionCounter.builder("crypto.pool.requests", CryptoEnginePool.class, ignored -> CryptoEnginePool.getHitCount())
+                .description("Crypto engine borrows served from the pool")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("crypto.pool.requests", CryptoEnginePool.class, ignored -> CryptoEnginePool.getMissCount())
+                .description("Crypto engine borrows that had to create a new engine")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.security.config;
+
+import com.example.security.constant.Constant;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import javax.sql.DataSource;
+
+/**
+ * Checks at startup that the Hikari pool ({@code spring.datasource.hikari.*}) fits the threads that borrow
+ * connections from it, and logs a warning when it does not.
+ * <p>
+ * Request threads hold a connection for the synchronous endpoints. Async {@code /create} commits hold one on a
+ * {@code transaction.persist} thread; crypto threads only hand commits over and never hold one. The group
+ * committer, the write-behind drainer and the re-encryption job hold one each. A pool smaller than the persist
+ * and background threads makes transfers wait for connections, up to {@code connection-timeout}; a pool larger
+ * than all of them together only keeps idle connections open on MySQL.
+ * Pool wait and usage are published by Spring Boot as {@code hikaricp.connections.*} under the pool name.
+ */
+@Slf4j
+@Configuration
+public class DataSourcePoolConfig {
+
+    private static final int BACKGROUND_WORKERS = 1;
+
+    private final DataSource dataSource;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int webThreads;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${crypto.executor.threads:0}")
+    private int cryptoThreads;
+
+    @Value("${transaction.persist.threads:10}")
+    private int persistThreads;
+
+    @Value("${transaction.group-commit.enabled:false}")
+    private boolean groupCommitEnabled;
+
+    @Value("${transaction.write-behind.enabled:false}")
+    private boolean writeBehindEnabled;
+
+    public DataSourcePoolConfig(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkPoolSize() {
+        if (!(dataSource instanceof HikariDataSource hikariDataSource)) {
+            return;
+        }
+        int poolSize = hikariDataSource.getMaximumPoolSize();
+        int crypto = cryptoThreads > 0 ? cryptoThreads : Runtime.getRuntime().availableProcessors();
+        int background = BACKGROUND_WORKERS + (groupCommitEnabled ? 1 : 0) + (writeBehindEnabled ? 1 : 0);
+        // with group commit, async commits run on the committer thread and the persist pool only sees rare conflict lookups
+        int commitThreads = groupCommitEnabled ? 0 : persistThreads;
+        log.info(Constant.DB_POOL_SUMMARY, hikariDataSource.getPoolName(), poolSize, hikariDataSource.getConnectionTimeout(),
+                hikariDataSource.getLeakDetectionThreshold(), virtualThreads ? Constant.DB_POOL_VIRTUAL : webThreads, crypto, commitThreads, background);
+
+        int commitDemand = commitThreads + background;
+        if (poolSize < commitDemand) {
+            log.warn(Constant.DB_POOL_TOO_SMALL, poolSize, commitDemand, commitThreads, background, hikariDataSource.getConnectionTimeout());
+        }
+        if (virtualThreads) {
+            log.warn(Constant.DB_POOL_BOUNDS_VIRTUAL_THREADS, poolSize);
+        } else if (poolSize > webThreads + commitDemand) {
+            log.warn(Constant.DB_POOL_TOO_LARGE, poolSize, webThreads + commitDemand);
+        }
+    }
+}
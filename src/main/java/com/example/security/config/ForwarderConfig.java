@@ -0,0 +1,69 @@
+package com.example.security.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+/**
+ * HTTP client used by the remote transaction forwarder.
+ * One pooled client is shared by all requests so connections to the target node are kept alive and reused.
+ */
+@Configuration
+@ConditionalOnProperty(name = "transaction.forwarder.mode", havingValue = "remote")
+public class ForwarderConfig {
+
+    @Value("${transaction.forwarder.url}")
+    private String url;
+
+    @Value("${transaction.forwarder.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${transaction.forwarder.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
+    @Value("${transaction.forwarder.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Value("${transaction.forwarder.max-connections:100}")
+    private int maxConnections;
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient transactionForwarderHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> TimeValue.ofMilliseconds(keepAliveMs))
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+    }
+
+    @Bean
+    public RestClient transactionForwarderRestClient(RestClient.Builder builder, CloseableHttpClient transactionForwarderHttpClient) {
+        return builder
+                .baseUrl(url)
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(transactionForwarderHttpClient))
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.security.config;
+
+import com.example.security.util.TimeOrderedIds;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies the node id used by {@link TimeOrderedIds}.
+ */
+@Configuration
+public class IdGeneratorConfig {
+
+    @Value("${transaction.id.node-id:0}")
+    private long nodeId;
+
+    @PostConstruct
+    public void init() {
+        TimeOrderedIds.configureNode(nodeId);
+    }
+}
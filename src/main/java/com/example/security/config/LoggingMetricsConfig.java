@@ -0,0 +1,51 @@
+package com.example.security.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.example.security.util.CountingAsyncAppender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Iterator;
+
+/**
+ * Publishes the async log appenders of the root logger as {@code logback.events.dropped{appender=...}}
+ * and {@code logback.async.queue.size{appender=...}}, see {@link CountingAsyncAppender}.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class LoggingMetricsConfig {
+
+    private final MeterRegistry meterRegistry;
+
+    @PostConstruct
+    public void init() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+            return;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof CountingAsyncAppender appender) {
+                register(appender);
+            }
+        }
+    }
+
+    private void register(CountingAsyncAppender appender) {
+        FunctionCounter.builder("logback.events.dropped", appender, CountingAsyncAppender::getDroppedCount)
+                .description("Log events dropped because the async appender queue was nearly full")
+                .tag("appender", appender.getName())
+                .register(meterRegistry);
+        Gauge.builder("logback.async.queue.size", appender, CountingAsyncAppender::getNumberOfElementsInQueue)
+                .description("Log events waiting in the async appender queue")
+                .tag("appender", appender.getName())
+                .register(meterRegistry);
+    }
+}
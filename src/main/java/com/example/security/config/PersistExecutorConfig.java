@@ -0,0 +1,40 @@
+package com.example.security.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor that runs blocking MySQL work scheduled from async request flows, such as single commits of
+ * {@code /create} without group commit and idempotency lookups after a key conflict.
+ * Its queue is bounded by {@code transaction.persist.queue-capacity}: when it is full, submissions are
+ * rejected instead of running on the submitting crypto or committer thread
+ * (see {@link com.example.security.service.impl.PersistScheduler}).
+ * Queue depth, queue wait and run time are published under {@code name=persist}.
+ */
+@Configuration
+public class PersistExecutorConfig {
+
+    @Value("${transaction.persist.threads:10}")
+    private int threads;
+
+    @Value("${transaction.persist.queue-capacity:256}")
+    private int queueCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService persistExecutor(MeterRegistry meterRegistry) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("persist-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "persist");
+    }
+}
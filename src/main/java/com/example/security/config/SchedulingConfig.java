@@ -0,0 +1,12 @@
+package com.example.security.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background tasks such as RSA key hot reload.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
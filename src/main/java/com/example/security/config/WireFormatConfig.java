@@ -0,0 +1,25 @@
+package com.example.security.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Adds CBOR ({@code application/cbor}) next to JSON for request and response bodies.
+ * The CBOR mapper is built from the same Spring Boot Jackson settings as the JSON one, so both formats
+ * carry the same fields; {@code byte[]} ciphertexts are Base64 strings in JSON and raw byte strings in CBOR.
+ * The format is picked per request from {@code Content-Type} and {@code Accept}; the converter is used by
+ * the MVC endpoints and by {@code RestClient} alike.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        ObjectMapper cborMapper = jackson2ObjectMapperBuilder.factory(new CBORFactory()).build();
+        return new MappingJackson2CborHttpMessageConverter(cborMapper);
+    }
+}
@@ -3,6 +3,8 @@ package com.example.security.constant;
 public class Constant {
     public static final String AES = "AES";
     public static final String AES_TRANSFORMATION = "AES/CBC/PKCS5Padding";
+    public static final String AES_GCM_TRANSFORMATION = "AES/GCM/NoPadding";
+    public static final String AES_CIPHERTEXT_TOO_SHORT = "AES ciphertext is shorter than an IV and one block";
     public static final int SIX_TEEN = 16;
     public static final int ZERO = 0;
     public static final String ASTERISK = "*";
@@ -17,6 +19,7 @@ public class Constant {
     public static final String UNKNOWN = "unknown";
     public static final String INTERNAL_SERVER_ERROR = "Internal Server Error";
     public static final String UNAUTHORIZED = "UNAUTHORIZED";
+    public static final String SERVICE_UNAVAILABLE = "SERVICE_UNAVAILABLE";
     public static final String FORBIDDEN = "FORBIDDEN";
 
     // Exception messages
@@ -26,6 +29,8 @@ public class Constant {
     public static final String BAD_REQUEST_EXCEPTION_OCCURRED = "BadRequestException occurred: {}";
     public static final String VALIDATION_EXCEPTION_OCCURRED = "Validation exception occurred: {}";
     public static final String UNEXPECTED_EXCEPTION_OCCURRED = "Unexpected exception occurred: {}";
+    public static final String SERVICE_OVERLOADED_EXCEPTION_OCCURRED = "ServiceOverloadedException occurred: {}";
+    public static final String CRYPTOGRAPHIC_EXCEPTION_OCCURRED = "Cryptographic error: {}";
 
     // IllegalArgumentException messages
     public static final String ILLEGAL_ARGUMENT_EXCEPTION_OCCURRED = "IllegalArgumentException occurred: {}";
@@ -34,6 +39,9 @@ public class Constant {
     public static final String METHOD_ARGUMENT_TYPE_MISMATCH_EXCEPTION_OCCURRED = "MethodArgumentTypeMismatchException occurred: {}";
     public static final String METHOD_ARGUMENT_TYPE_MISMATCH = "Parameter '%s' is of invalid type. Expected type: %s.";
 
+    // MissingServletRequestParameterException messages
+    public static final String MISSING_REQUEST_PARAMETER_EXCEPTION_OCCURRED = "MissingServletRequestParameterException occurred: {}";
+
     // NoResourceFoundException messages
     public static final String NO_RESOURCE_FOUND_EXCEPTION_OCCURRED = "NoResourceFoundException occurred: {}";
     // Specific error messages
@@ -63,4 +71,132 @@ public class Constant {
     public static final String VERSION_PREFIX_REGEX = "v[0-9]+/";
     public static final String FILE_EXTENSION_REGEX = "\\.[^.]+$";
     public static final String EMPTY_STRING = "";
+    // RSA key messages
+    public static final String RSA_KEY_NOT_CONFIGURED = "RSA key pair is not configured. Set RSA_PUBLIC_KEY/RSA_PRIVATE_KEY or rsa.public-key-path/rsa.private-key-path.";
+    public static final String RSA_KEY_LOAD_FAILED = "Failed to load RSA key pair";
+    public static final String RSA_KEY_RELOADED = "RSA key pair reloaded from {} and {}";
+    public static final String RSA_KEY_RELOAD_FAILED = "RSA key reload failed, keeping previous keys: {}";
+    public static final String RSA_KEY_WITHOUT_CRT = "RSA private key has no CRT parameters, private key operations will be slower";
+    // Transaction payload messages
+    public static final int PAYLOAD_VERSION_PER_FIELD = 1;
+    public static final int PAYLOAD_VERSION_HYBRID = 2;
+    public static final int PAYLOAD_VERSION_SIGNED = 3;
+    public static final String PAYLOAD_MODE_PER_FIELD = "per-field";
+    public static final String PAYLOAD_MODE_SIGNED = "signed";
+    public static final String WIRE_FORMAT_CBOR = "cbor";
+    public static final String UNSUPPORTED_PAYLOAD_VERSION = "Unsupported payload version: ";
+    public static final String TRANSACTION_REQUESTS_REQUIRED = "At least one transaction request is required";
+    public static final String HYBRID_PAYLOAD_REQUIRED = "encryptedKey, iv and payload are required for hybrid payloads";
+    public static final String INVALID_HYBRID_PAYLOAD = "Hybrid payload could not be parsed";
+    public static final String HYBRID_LEG_FIELDS_REQUIRED = "transactionID, account, inDebt, have and time are required for every hybrid leg";
+    public static final String INVALID_TRANSACTION_LEG = "inDebt and have must be decimal numbers and time an ISO-8601 local date-time in transaction ";
+    public static final String SIGNED_PAYLOAD_REQUIRED = "encryptedKey, legs and signature are required for signed payloads";
+    public static final String SIGNED_LEG_FIELDS_REQUIRED = "transactionID, account, inDebt, have and time are required for every signed leg";
+    public static final String INVALID_BATCH_SIGNATURE = "Batch signature is invalid";
+    // Transfer flow stages
+    public static final String STAGE_FORWARD = "forward";
+    public static final String STAGE_RSA_ENCRYPT = "rsa_encrypt";
+    public static final String STAGE_RESPONSE_MAPPING = "response_mapping";
+    public static final String STAGE_RSA_DECRYPT = "rsa_decrypt";
+    public static final String STAGE_AES_ENCRYPT = "aes_encrypt";
+    public static final String STAGE_PERSIST = "persist";
+    public static final String STAGE_BULK_CHUNK_PERSIST = "bulk_chunk_persist";
+    // Bulk transfer messages
+    public static final String BULK_ITEM_SUCCEEDED = "SUCCEEDED";
+    public static final String BULK_ITEM_FAILED = "FAILED";
+    public static final String BULK_MAX_ITEMS_EXCEEDED = "Bulk submission exceeds the maximum number of transfers: ";
+    public static final String INVALID_BULK_ITEM = "Invalid transfer: ";
+    public static final String BULK_ITEM_REQUIRED = "Transfer must not be null";
+    public static final String BULK_STREAM_ABORTED = "Bulk stream unreadable at item {}, stopping: {}";
+    public static final String BULK_CHUNK_FAILED = "Bulk chunk of {} transfers failed, retrying one by one: {}";
+    // Transaction query messages
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final String ACCOUNT_REQUIRED = "Account is required";
+    public static final String INVALID_PAGE_SIZE = "Page size must be between 1 and ";
+    public static final String INVALID_CURSOR = "Invalid pagination cursor";
+    public static final String BLIND_INDEX_KEY_NOT_CONFIGURED = "Blind index key is not configured. Set AES_BLIND_INDEX_KEY.";
+    // Transaction export messages
+    public static final String EXPORT_FORMAT_NDJSON = "ndjson";
+    public static final String EXPORT_FORMAT_CSV = "csv";
+    public static final String EXPORT_CSV_HEADER = "id,transactionID,account,inDebt,have,time\n";
+    public static final String UNSUPPORTED_EXPORT_FORMAT = "Unsupported export format: ";
+    public static final String EXPORT_DECRYPT_FAILED = "Failed to decrypt account of transaction ";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    // Account balance messages
+    public static final String ACCOUNT_BALANCE_NOT_FOUND = "No balance found for account";
+    // Idempotency messages
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    public static final String IDEMPOTENCY_FINGERPRINT_HEADER = "Idempotency-Fingerprint";
+    public static final String IDEMPOTENCY_FINGERPRINT_SIGNATURE_HEADER = "Idempotency-Fingerprint-Signature";
+    public static final String IDEMPOTENCY_FORWARDER_SECRET_NOT_CONFIGURED = "Remote forwarding needs idempotency.forwarder-secret. Set IDEMPOTENCY_FORWARDER_SECRET on every node.";
+    public static final int IDEMPOTENCY_FINGERPRINT_LENGTH = 64;
+    public static final int IDEMPOTENCY_KEY_MAX_LENGTH = 128;
+    public static final String IDEMPOTENCY_REDIS_PREFIX = "idempotency:v2:";
+    public static final String INVALID_IDEMPOTENCY_KEY = "Idempotency-Key must be 1 to " + IDEMPOTENCY_KEY_MAX_LENGTH + " characters";
+    public static final String INVALID_IDEMPOTENCY_FINGERPRINT = "Idempotency-Fingerprint must be " + IDEMPOTENCY_FINGERPRINT_LENGTH + " hex characters";
+    public static final String IDEMPOTENCY_KEY_REUSED = "Idempotency-Key was already used with a different request";
+    public static final String IDEMPOTENCY_REDIS_UNAVAILABLE = "Idempotency Redis tier unavailable, falling back: {}";
+    public static final String IDEMPOTENCY_REDIS_WRITE_DROPPED = "Idempotency Redis write queue is full, key {} stays in the local cache and the database only";
+    public static final String IDEMPOTENCY_KEYS_EXPIRED = "Deleted {} expired idempotency keys";
+    // Write-behind messages
+    public static final String TICKET_PENDING = "PENDING";
+    public static final String TICKET_COMMITTED = "COMMITTED";
+    public static final String TICKET_FAILED = "FAILED";
+    public static final String TICKET_NOT_FOUND = "Ticket not found: ";
+    public static final String STAGE_WAL_APPEND = "wal_append";
+    public static final String STAGE_WAL_DRAIN = "wal_drain";
+    public static final String WAL_RECOVERED = "Replaying {} write-behind entries from the write-ahead log";
+    public static final String WAL_CORRUPT_ENTRY = "Skipping unreadable write-ahead log entry: {}";
+    public static final String WAL_BATCH_FAILED = "Write-behind batch of {} entries failed, retrying one by one: {}";
+    public static final String WAL_DATABASE_UNAVAILABLE = "Database unavailable for write-behind drain, retrying in {} ms: {}";
+    public static final String WAL_CHECKPOINT_FAILED = "Failed to write the write-ahead log checkpoint: {}";
+    public static final String WAL_APPEND_FAILED = "Failed to append to the write-ahead log";
+    public static final String WAL_BATCH_ABORTED = "Write-behind batch of {} entries failed permanently, failing its tickets: {}";
+    public static final String WAL_DRAINER_STOP_TIMEOUT = "Write-behind drainer did not finish within 30 s, interrupting it";
+    // Group commit messages
+    public static final String GROUP_COMMIT_FAILED = "Group commit of {} transfers failed, committing one by one: {}";
+    public static final String GROUP_COMMIT_ABORTED = "Group commit of {} transfers failed unexpectedly, failing them: {}";
+    public static final String GROUP_COMMIT_TIMEOUT = "Transfer was not committed in time, retry with the same Idempotency-Key";
+    public static final String GROUP_COMMITTER_STOP_TIMEOUT = "Group committer did not finish within 10 s, interrupting it";
+    // AES key rotation messages
+    public static final char AES_KEY_ID_SEPARATOR = '$';
+    public static final int AES_KEY_ID_MAX_LENGTH = 16;
+    public static final String INVALID_AES_KEY_ID = "AES key id must be 1 to " + AES_KEY_ID_MAX_LENGTH + " letters, digits, '_' or '-': ";
+    public static final String INVALID_AES_KEY = "AES key must be Base64 of 16, 24 or 32 bytes: ";
+    public static final String AES_ACTIVE_KEY_MISSING = "Active AES key id is not in aes.keys: ";
+    public static final String INVALID_AES_LEGACY_KEY = "aes.secret-key must be 16, 24 or 32 bytes";
+    public static final String AES_KEY_NOT_CONFIGURED = "No AES key configured. Set AES_SECRET_KEY or AES_ACTIVE_KEY_ID.";
+    public static final String AES_LEGACY_KEY_MISSING = "Value has no AES key id and aes.secret-key is not configured";
+    public static final String UNKNOWN_AES_KEY_ID = "Unknown AES key id: ";
+    public static final String RESERVED_AES_KEY_ID = "AES key id is reserved for the format header: ";
+    public static final String AES_MODE_CBC = "cbc";
+    public static final String AES_MODE_GCM = "gcm";
+    public static final String INVALID_AES_MODE = "AES mode must be cbc or gcm: ";
+    public static final String AES_KEYRING_LOADED = "Loaded AES keys {}, active key {}, mode {}";
+    public static final String REENCRYPTION_IDLE = "IDLE";
+    public static final String REENCRYPTION_RUNNING = "RUNNING";
+    public static final String REENCRYPTION_PAUSED = "PAUSED";
+    public static final String REENCRYPTION_COMPLETED = "COMPLETED";
+    public static final String REENCRYPTION_FAILED = "FAILED";
+    public static final String REENCRYPTION_INCOMPLETE = "INCOMPLETE";
+    public static final String REENCRYPTION_ALREADY_RUNNING = "Account re-encryption is already running";
+    public static final String REENCRYPTION_NOT_RUNNING = "Account re-encryption is not running";
+    public static final String REENCRYPTION_NOT_PAUSED = "Account re-encryption is not paused";
+    public static final String REENCRYPTION_NO_ACTIVE_KEY = "No active AES key configured, nothing to re-encrypt to";
+    public static final String REENCRYPTION_STARTED = "Account re-encryption to key {} started after id {}";
+    public static final String REENCRYPTION_FINISHED = "Account re-encryption finished at id {}: scanned {}, re-encrypted {}, backfilled {}, failed {}";
+    public static final String REENCRYPTION_ROW_FAILED = "Failed to re-encrypt account of transaction {}: {}";
+    public static final String REENCRYPTION_CHUNK_FAILED = "Account re-encryption stopped after id {}: {}";
+    // Crypto executor messages
+    public static final String CRYPTO_EXECUTOR_SATURATED = "Crypto executor queue is full, retry later";
+    public static final String PERSIST_EXECUTOR_SATURATED = "Persist executor queue is full, retry later";
+    public static final String WRITE_BEHIND_SATURATED = "Too many write-behind entries waiting for the database, retry later";
+    // Connection pool messages
+    public static final String DB_POOL_VIRTUAL = "virtual";
+    public static final String DB_POOL_SUMMARY = "Connection pool {}: {} connections, connection timeout {} ms, leak detection {} ms; web threads {}, crypto threads {}, persist threads {}, background workers {}";
+    public static final String DB_POOL_TOO_SMALL = "Connection pool has {} connections but up to {} threads commit concurrently ({} persist, {} background): transfers will wait up to {} ms for a connection, raise spring.datasource.hikari.maximum-pool-size";
+    public static final String DB_POOL_TOO_LARGE = "Connection pool has {} connections but at most {} threads can use one: lower spring.datasource.hikari.maximum-pool-size";
+    public static final String DB_POOL_BOUNDS_VIRTUAL_THREADS = "Requests run on virtual threads: concurrent database work is bounded only by the {} pool connections, keep spring.datasource.hikari.connection-timeout short";
 }
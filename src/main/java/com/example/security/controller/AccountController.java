@@ -0,0 +1,57 @@
+package com.example.security.controller;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.dto.response.BalanceResponse;
+import com.example.security.service.IAccountBalanceService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Controller for handling account-related endpoints.
+ */
+
+@Tag(name = "Account API", description = "APIs for account operations")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/accounts")
+public class AccountController {
+
+    private final IAccountBalanceService accountBalanceService;
+
+    /**
+     * Get the current balance of an account from the balance projection.
+     *
+     * @param account the plain account number
+     * @return ApiResponse containing the account balance
+     * @throws NoSuchAlgorithmException if the blind index algorithm is not available
+     * @throws InvalidKeyException if the blind index key is invalid
+     */
+    @Operation(
+            summary = "Account Balance",
+            description = "Reads the running balance of an account through its blind index without scanning its transactions"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Account balance",
+                    content = @Content(schema = @Schema(implementation = BalanceResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Missing account"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Account has no transactions")
+    })
+    @GetMapping("/balance")
+    public ResponseEntity<ApiResponse<BalanceResponse>> getBalance(@RequestParam String account) throws NoSuchAlgorithmException, InvalidKeyException {
+        BalanceResponse balanceResponse = accountBalanceService.getBalance(account);
+        return ResponseEntity.ok(ApiResponse.success(Constant.SUCCESS, balanceResponse));
+    }
+}
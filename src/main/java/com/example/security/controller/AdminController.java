@@ -0,0 +1,103 @@
+package com.example.security.controller;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.dto.response.ReencryptionStatusResponse;
+import com.example.security.service.IAccountReencryptionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for operating the background re-encryption of the account column after an AES key rotation.
+ */
+
+@Tag(name = "Admin API", description = "APIs for key rotation maintenance")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/admin/reencryption")
+public class AdminController {
+
+    private final IAccountReencryptionService accountReencryptionService;
+
+    /**
+     * Get the state and progress of the re-encryption job.
+     *
+     * @return ApiResponse containing the job status
+     */
+    @Operation(
+            summary = "Re-encryption Status",
+            description = "Returns the state of the re-encryption job, the active key id, the last processed transaction id and row counts"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Job status",
+                    content = @Content(schema = @Schema(implementation = ReencryptionStatusResponse.class)))
+    })
+    @GetMapping
+    public ResponseEntity<ApiResponse<ReencryptionStatusResponse>> getStatus() {
+        return ResponseEntity.ok(ApiResponse.success(Constant.SUCCESS, accountReencryptionService.getStatus()));
+    }
+
+    /**
+     * Start re-encrypting all accounts that are not on the active key.
+     *
+     * @param afterId resume after this transaction id, 0 to start from the beginning
+     * @return ApiResponse containing the job status
+     */
+    @Operation(
+            summary = "Start Re-encryption",
+            description = "Walks the transactions table in the background and re-encrypts every account with the active AES key"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Job started",
+                    content = @Content(schema = @Schema(implementation = ReencryptionStatusResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "No active AES key configured"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "A job is already running")
+    })
+    @PostMapping("/start")
+    public ResponseEntity<ApiResponse<ReencryptionStatusResponse>> start(@RequestParam(defaultValue = "0") long afterId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(Constant.SUCCESS, accountReencryptionService.start(afterId)));
+    }
+
+    /**
+     * Pause the running job after its current chunk.
+     *
+     * @return ApiResponse containing the job status
+     */
+    @Operation(summary = "Pause Re-encryption", description = "Pauses the running job after its current chunk")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Job paused",
+                    content = @Content(schema = @Schema(implementation = ReencryptionStatusResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "No job is running")
+    })
+    @PostMapping("/pause")
+    public ResponseEntity<ApiResponse<ReencryptionStatusResponse>> pause() {
+        return ResponseEntity.ok(ApiResponse.success(Constant.SUCCESS, accountReencryptionService.pause()));
+    }
+
+    /**
+     * Resume a paused job.
+     *
+     * @return ApiResponse containing the job status
+     */
+    @Operation(summary = "Resume Re-encryption", description = "Resumes a paused job where it stopped")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Job resumed",
+                    content = @Content(schema = @Schema(implementation = ReencryptionStatusResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "The job is not paused")
+    })
+    @PostMapping("/resume")
+    public ResponseEntity<ApiResponse<ReencryptionStatusResponse>> resume() {
+        return ResponseEntity.ok(ApiResponse.success(Constant.SUCCESS, accountReencryptionService.resume()));
+    }
+}
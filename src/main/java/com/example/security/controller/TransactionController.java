@@ -1,39 +1,61 @@
 package com.example.security.controller;
 
 import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
 import com.example.security.dto.request.ListTransactionRequest;
 import com.example.security.dto.request.TransactionUserRequest;
 import com.example.security.dto.response.ApiResponse;
+import com.example.security.dto.response.BulkTransferResponse;
+import com.example.security.dto.response.TransactionPageResponse;
 import com.example.security.dto.response.TransactionResponse;
+import com.example.security.exception.BadRequestException;
+import com.example.security.service.IBulkTransferService;
+import com.example.security.service.IIdempotencyService;
+import com.example.security.service.ITransactionExportService;
+import com.example.security.service.ITransactionForwarder;
 import com.example.security.service.ITransactionService;
+import com.example.security.service.impl.CryptoScheduler;
+import com.example.security.service.impl.PersistScheduler;
+import com.example.security.util.IdempotencyFingerprintSigner;
+import com.example.security.util.TransferMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.client.RestTemplate;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller for handling transaction-related endpoints.
@@ -46,19 +68,22 @@ import java.util.List;
 public class TransactionController {
 
     private final ITransactionService transactionService;
-    private static final String URL =  "http://localhost:8080/api/v1/transactions/create";
+    private final ITransactionForwarder transactionForwarder;
+    private final IBulkTransferService bulkTransferService;
+    private final ITransactionExportService transactionExportService;
+    private final ObjectMapper objectMapper;
+    private final TransferMetrics transferMetrics;
+    private final IIdempotencyService idempotencyService;
+    private final PersistScheduler persistScheduler;
+    private final IdempotencyFingerprintSigner fingerprintSigner;
 
-    @Value("${RSA_PUBLIC_KEY}")
-    private String publicKeyString;
     /**
-     * Get the public key used for encryption.
-     *
-     * @return the public key as a string
-     */
-
-    /**
-     * Receives encrypted transaction information, decodes it, and forwards the request to the transaction creation endpoint.
+     * Receives encrypted transaction information, decodes it, and forwards the request to the transaction creation step
+     * through the configured {@link ITransactionForwarder}.
+     * A repeated {@code Idempotency-Key} returns the stored response without re-running crypto or writes;
+     * the same key with a different request body answers 409.
      *
+     * @param idempotencyKey the optional idempotency key of the submission
      * @param transactionUserRequest the encrypted transaction request data
      * @return ApiResponse containing the result of the transaction creation
      * @throws NoSuchAlgorithmException if the cryptographic algorithm is not available
@@ -76,34 +101,49 @@ public class TransactionController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Successfully processed the transaction information",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid or malformed encrypted data"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Idempotency-Key already used with a different request"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error during decryption or processing")
     })
-    @PostMapping("/info")
-    public ResponseEntity<Object> receiveInfo(@Valid @RequestBody TransactionUserRequest transactionUserRequest) throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, IllegalBlockSizeException, BadPaddingException, InvalidKeyException {
+    @PostMapping(value = "/info",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<ApiResponse<Object>> receiveInfo(@RequestHeader(name = Constant.IDEMPOTENCY_KEY_HEADER, required = false) String key,
+                                                           @Valid @RequestBody TransactionUserRequest transactionUserRequest) throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, IllegalBlockSizeException, BadPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
+        // the forwarded batch is re-encrypted on every attempt, so the fingerprint is taken here and passed on
+        IdempotencyKey idempotencyKey = key == null ? null : IdempotencyKey.of(key, toBytes(transactionUserRequest));
+        Optional<ApiResponse<Object>> storedResponse = findStoredResponse(idempotencyKey);
+        if (storedResponse.isPresent()) {
+            return replay(HttpStatus.OK, storedResponse.get());
+        }
         ListTransactionRequest listTransactionRequest = transactionService.createListRequest(transactionUserRequest);
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        HttpEntity<ListTransactionRequest> entity = new HttpEntity<>(listTransactionRequest, headers);
-        ResponseEntity<ApiResponse> response = restTemplate.exchange(
-                URL,
-                HttpMethod.POST,
-                entity,
-                ApiResponse.class
-        );
-        return ResponseEntity.ok(response.getBody());
+        Timer.Sample forwardSample = transferMetrics.start();
+        ApiResponse<Object> forwardResponse;
+        try {
+            forwardResponse = transactionForwarder.forward(listTransactionRequest, idempotencyKey);
+        } catch (DataIntegrityViolationException ex) {
+            return replay(HttpStatus.OK, findAfterConflict(idempotencyKey, ex));
+        }
+        transferMetrics.stop(forwardSample, Constant.STAGE_FORWARD);
+        if (idempotencyKey != null) {
+            idempotencyService.remember(idempotencyKey, forwardResponse);
+        }
+        return ResponseEntity.ok(forwardResponse);
     }
+
     /**
      * Create two transaction records (sender and receiver) and return their responses.
+     * A repeated {@code Idempotency-Key} returns the stored response without re-running crypto or writes;
+     * the same key with a different request answers 409. The request is identified by the
+     * {@code Idempotency-Fingerprint} header when a forwarding node sends one signed with the shared
+     * forwarder secret, otherwise by the hash of its body.
+     * The request thread is released while the crypto executor decrypts the request; when its queue,
+     * or the queue of the persist executor, is full the call fails fast with 503 and {@code Retry-After}.
      *
+     * @param key the optional idempotency key of the submission
+     * @param fingerprint the optional fingerprint of the original request, set by a forwarding node
+     * @param signature the signature of the fingerprint, set by a forwarding node
      * @param listTransactionRequest the transaction request data
-     * @return ApiResponse containing a list of transaction responses
-     * @throws InvalidAlgorithmParameterException if the algorithm parameters are invalid
-     * @throws NoSuchPaddingException if the padding mechanism is not available
-     * @throws IllegalBlockSizeException if the block size is illegal
-     * @throws NoSuchAlgorithmException if the algorithm is not available
-     * @throws BadPaddingException if the padding is incorrect
-     * @throws InvalidKeyException if the key is invalid
+     * @return the future ApiResponse containing a list of transaction responses
      */
     @Operation(
             summary = "Create Transaction Records",
@@ -113,12 +153,166 @@ public class TransactionController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Successfully created transaction records",
                     content = @Content(schema = @Schema(implementation = TransactionResponse.class))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid transaction request data"),
-            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error during transaction processing")
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Idempotency-Key already used with a different request"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error during transaction processing"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Crypto or persist executor saturated, retry after the Retry-After delay")
+    })
+    @PostMapping(value = "/create",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public CompletableFuture<ResponseEntity<ApiResponse<Object>>> createTransaction(@RequestHeader(name = Constant.IDEMPOTENCY_KEY_HEADER, required = false) String key,
+                                                                                    @RequestHeader(name = Constant.IDEMPOTENCY_FINGERPRINT_HEADER, required = false) String fingerprint,
+                                                                                    @RequestHeader(name = Constant.IDEMPOTENCY_FINGERPRINT_SIGNATURE_HEADER, required = false) String signature,
+                                                                                    @Valid @RequestBody ListTransactionRequest listTransactionRequest) {
+        IdempotencyKey idempotencyKey = createIdempotencyKey(key, fingerprint, signature, listTransactionRequest);
+        Optional<ApiResponse<Object>> storedResponse = findStoredResponse(idempotencyKey);
+        if (storedResponse.isPresent()) {
+            return CompletableFuture.completedFuture(replay(HttpStatus.CREATED, storedResponse.get()));
+        }
+        return transactionService.createTransactionAsync(listTransactionRequest, idempotencyKey)
+                .<ResponseEntity<ApiResponse<Object>>>thenApply(transactionResponses -> ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(Constant.SUCCESS, transactionResponses)))
+                .exceptionallyCompose(ex -> {
+                    if (CryptoScheduler.unwrap(ex) instanceof DataIntegrityViolationException conflict) {
+                        // these callbacks run on the group committer: look the winner up on the persist pool instead
+                        return persistScheduler.submit(() -> replay(HttpStatus.CREATED, findAfterConflict(idempotencyKey, conflict)));
+                    }
+                    return CompletableFuture.failedFuture(ex);
+                });
+    }
+
+    /**
+     * Submit many transfers in one call. The body is read as a stream, either a JSON array
+     * or newline-delimited JSON, and processed in chunks with one database transaction per chunk.
+     *
+     * @param body the request body stream
+     * @return ApiResponse containing the per-item results
+     * @throws IOException if the request body cannot be read
+     */
+    @Operation(
+            summary = "Bulk Transfer",
+            description = "Accepts a JSON array or NDJSON stream of transfers and returns a per-item result list with partial failures"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Submission processed, see per-item results",
+                    content = @Content(schema = @Schema(implementation = BulkTransferResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Malformed request body"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "500", description = "Internal server error during bulk processing")
+    })
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<BulkTransferResponse>> bulkTransfer(InputStream body) throws IOException {
+        try (MappingIterator<TransactionUserRequest> transfers = objectMapper.readerFor(TransactionUserRequest.class).readValues(body)) {
+            BulkTransferResponse bulkTransferResponse = bulkTransferService.transfer(transfers);
+            return ResponseEntity.ok(ApiResponse.success(Constant.SUCCESS, bulkTransferResponse));
+        }
+    }
+
+    /**
+     * Get the transaction history of an account, newest first, one keyset page at a time.
+     *
+     * @param account the plain account number
+     * @param cursor the cursor returned with the previous page, omitted for the first page
+     * @param size the page size
+     * @return ApiResponse containing the page of transactions and the next cursor
+     * @throws NoSuchAlgorithmException if the blind index algorithm is not available
+     * @throws InvalidKeyException if the blind index key is invalid
+     */
+    @Operation(
+            summary = "Account Transaction History",
+            description = "Looks up an account's transactions through its blind index, newest first, with keyset pagination"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Page of transactions",
+                    content = @Content(schema = @Schema(implementation = TransactionPageResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Missing account, invalid size or cursor")
     })
-    @PostMapping("/create")
-    public ResponseEntity<ApiResponse<Object>> createTransaction(@Valid @RequestBody ListTransactionRequest listTransactionRequest) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidKeySpecException {
-        List<TransactionResponse> transactionResponses = transactionService.createTransaction(listTransactionRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success(Constant.SUCCESS, transactionResponses));
+    @GetMapping
+    public ResponseEntity<ApiResponse<TransactionPageResponse>> findByAccount(@RequestParam String account,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(defaultValue = "" + Constant.DEFAULT_PAGE_SIZE) int size) throws NoSuchAlgorithmException, InvalidKeyException {
+        TransactionPageResponse transactionPageResponse = transactionService.findByAccount(account, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(Constant.SUCCESS, transactionPageResponse));
     }
 
+    /**
+     * Stream the transactions table as NDJSON or CSV, in id order, with decrypted accounts.
+     * Rows are written as they are read, so the export runs in constant memory. To resume an
+     * interrupted export, call again with {@code after} set to the last id received.
+     *
+     * @param format the output format, {@code ndjson} or {@code csv}
+     * @param after the exclusive lower id bound, 0 to start from the beginning
+     * @param limit the maximum number of rows to write, 0 for no limit
+     * @param response the servlet response the rows are written to
+     * @throws IOException if writing the response fails
+     */
+    @Operation(
+            summary = "Export Transactions",
+            description = "Streams transactions with decrypted accounts as NDJSON or CSV, resumable with the last exported id"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Export stream"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Unsupported export format")
+    })
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = Constant.EXPORT_FORMAT_NDJSON) String format,
+                       @RequestParam(defaultValue = "0") long after,
+                       @RequestParam(defaultValue = "0") long limit,
+                       HttpServletResponse response) throws IOException {
+        String contentType;
+        if (Constant.EXPORT_FORMAT_NDJSON.equalsIgnoreCase(format)) {
+            contentType = MediaType.APPLICATION_NDJSON_VALUE;
+        } else if (Constant.EXPORT_FORMAT_CSV.equalsIgnoreCase(format)) {
+            contentType = Constant.TEXT_CSV_VALUE;
+        } else {
+            throw new BadRequestException(Constant.UNSUPPORTED_EXPORT_FORMAT + format);
+        }
+        response.setContentType(contentType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=transactions." + format.toLowerCase());
+        transactionExportService.export(format, after, limit, response.getOutputStream());
+    }
+
+    /**
+     * Take the fingerprint from a forwarding node only when it carries a valid signature; a client could
+     * otherwise send any fingerprint and bypass the check against the body.
+     */
+    private IdempotencyKey createIdempotencyKey(String key, String fingerprint, String signature, ListTransactionRequest listTransactionRequest) {
+        if (key == null) {
+            return null;
+        }
+        return fingerprintSigner.verify(key, fingerprint, signature)
+                ? IdempotencyKey.forwarded(key, fingerprint)
+                : IdempotencyKey.of(key, toBytes(listTransactionRequest));
+    }
+
+    /**
+     * Serialize a request as JSON for fingerprinting, so JSON and CBOR submissions of the same request match.
+     */
+    private byte[] toBytes(Object request) {
+        try {
+            return objectMapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    private Optional<ApiResponse<Object>> findStoredResponse(IdempotencyKey idempotencyKey) {
+        return idempotencyKey == null ? Optional.empty() : idempotencyService.find(idempotencyKey);
+    }
+
+    /**
+     * A concurrent submission with the same key committed first and this one was rolled back
+     * on the idempotency key constraint; answer with the response of the winner.
+     */
+    private ApiResponse<Object> findAfterConflict(IdempotencyKey idempotencyKey, DataIntegrityViolationException ex) {
+        if (idempotencyKey == null) {
+            throw ex;
+        }
+        return idempotencyService.find(idempotencyKey).orElseThrow(() -> ex);
+    }
+
+    private static ResponseEntity<ApiResponse<Object>> replay(HttpStatus status, ApiResponse<Object> storedResponse) {
+        return ResponseEntity.status(status)
+                .header(Constant.IDEMPOTENT_REPLAYED_HEADER, Boolean.TRUE.toString())
+                .body(storedResponse);
+    }
 }
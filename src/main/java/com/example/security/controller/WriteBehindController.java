@@ -0,0 +1,96 @@
+package com.example.security.controller;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.dto.response.TransferTicketResponse;
+import com.example.security.service.IWriteBehindService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Controller for write-behind transaction ingest, enabled with {@code transaction.write-behind.enabled}.
+ */
+
+@Tag(name = "Write-Behind Transaction API", description = "APIs for asynchronous transaction ingest")
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/transactions")
+@ConditionalOnProperty(name = "transaction.write-behind.enabled", havingValue = "true")
+public class WriteBehindController {
+
+    private final IWriteBehindService writeBehindService;
+
+    /**
+     * Accept an encrypted transfer batch once it is durable in the local write-ahead log.
+     * The database write happens later; poll the returned ticket for the outcome.
+     *
+     * @param listTransactionRequest the encrypted list transaction request
+     * @return ApiResponse containing the pending ticket
+     * @throws InvalidAlgorithmParameterException if the algorithm parameters are invalid
+     * @throws NoSuchPaddingException if the padding mechanism is not available
+     * @throws IllegalBlockSizeException if the block size is illegal
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     * @throws BadPaddingException if the padding is incorrect
+     * @throws InvalidKeyException if the key is invalid
+     */
+    @Operation(
+            summary = "Submit Transaction Records",
+            description = "Decrypts the batch, appends it to the write-ahead log and returns a ticket; the records are written to the database in the background"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "202", description = "Batch accepted",
+                    content = @Content(schema = @Schema(implementation = TransferTicketResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid transaction request data"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "503", description = "Too many entries waiting for the database, retry after the Retry-After delay")
+    })
+    @PostMapping(value = "/submit",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<ApiResponse<TransferTicketResponse>> submit(@Valid @RequestBody ListTransactionRequest listTransactionRequest) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException {
+        TransferTicketResponse transferTicketResponse = writeBehindService.submit(listTransactionRequest);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success(Constant.SUCCESS, transferTicketResponse));
+    }
+
+    /**
+     * Get the state of a write-behind ticket.
+     *
+     * @param ticketId the ticket id returned by {@code /submit}
+     * @return ApiResponse containing the ticket state
+     */
+    @Operation(
+            summary = "Write-Behind Ticket Status",
+            description = "Returns whether a submitted batch is pending, committed or failed"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Ticket state",
+                    content = @Content(schema = @Schema(implementation = TransferTicketResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "Unknown or expired ticket")
+    })
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<ApiResponse<TransferTicketResponse>> getTicket(@PathVariable long ticketId) {
+        return ResponseEntity.ok(ApiResponse.success(Constant.SUCCESS, writeBehindService.getTicket(ticketId)));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.security.dto.request;
+
+import com.example.security.constant.Constant;
+import com.example.security.exception.BadRequestException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * An {@code Idempotency-Key} with the fingerprint of the request it came with. A stored response is only
+ * replayed for a request with the same fingerprint; the same key with a different request is a conflict.
+ *
+ * @param value the Idempotency-Key
+ * @param fingerprint the hex SHA-256 of the request, or null when unknown, which matches any request
+ */
+public record IdempotencyKey(String value, String fingerprint) {
+
+    /**
+     * Fingerprint a request by the SHA-256 of its canonical bytes.
+     *
+     * @param value the Idempotency-Key
+     * @param request the canonical bytes of the request
+     * @return the key with its fingerprint
+     */
+    public static IdempotencyKey of(String value, byte[] request) {
+        try {
+            return new IdempotencyKey(value, HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(request)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Take the fingerprint from the {@code Idempotency-Fingerprint} header sent by a forwarding node.
+     *
+     * @param value the Idempotency-Key
+     * @param fingerprint the hex SHA-256 of the original request
+     * @return the key with its fingerprint
+     * @throws BadRequestException if the fingerprint is not a hex SHA-256
+     */
+    public static IdempotencyKey forwarded(String value, String fingerprint) {
+        if (fingerprint.length() != Constant.IDEMPOTENCY_FINGERPRINT_LENGTH || !fingerprint.chars().allMatch(HexFormat::isHexDigit)) {
+            throw new BadRequestException(Constant.INVALID_IDEMPOTENCY_FINGERPRINT);
+        }
+        return new IdempotencyKey(value, fingerprint.toLowerCase());
+    }
+}
@@ -7,10 +7,37 @@ import lombok.NoArgsConstructor;
 
 import java.util.List;
 
+/**
+ * Batch of transaction legs sent to the create endpoint.
+ * Version 1 (or no version) carries RSA-encrypted fields in {@code transactionRequests}.
+ * Version 2 carries the whole batch as one AES-GCM {@code payload} whose data key is
+ * RSA-wrapped in {@code encryptedKey}.
+ * Version 3 carries clear {@code legs} with only the account AES-GCM encrypted under the data key in
+ * {@code encryptedKey}, and one SHA256withRSA {@code signature} over the canonical encoding of the batch,
+ * see {@link com.example.security.util.SignedBatchEncoding}.
+ * Binary fields are Base64 strings in JSON and byte strings in CBOR.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class ListTransactionRequest {
+
+    private Integer version;
+
     @Valid
     List<TransactionRequest> transactionRequests;
+
+    private byte[] encryptedKey;
+
+    private byte[] iv;
+
+    private byte[] payload;
+
+    private List<SignedTransactionLeg> legs;
+
+    private byte[] signature;
+
+    public ListTransactionRequest(List<TransactionRequest> transactionRequests) {
+        this.transactionRequests = transactionRequests;
+    }
 }
@@ -0,0 +1,26 @@
+package com.example.security.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One transaction leg of a signed {@link ListTransactionRequest}. Only the account is encrypted
+ * (nonce, AES-GCM ciphertext and tag under the batch data key); the other fields travel in clear and
+ * are protected by the batch signature.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SignedTransactionLeg {
+
+    private String transactionID;
+
+    private byte[] account;
+
+    private String inDebt;
+
+    private String have;
+
+    private String time;
+}
@@ -0,0 +1,25 @@
+package com.example.security.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Plain-text transaction leg carried inside the encrypted payload of a hybrid
+ * {@link ListTransactionRequest}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPayload {
+
+    private String transactionID;
+
+    private String account;
+
+    private String inDebt;
+
+    private String have;
+
+    private String time;
+}
@@ -1,23 +1,27 @@
 package com.example.security.dto.request;
 
-import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import lombok.Data;
 
+/**
+ * One transaction leg with every field RSA-encrypted. Ciphertexts are raw bytes: Base64 strings in JSON,
+ * byte strings in CBOR.
+ */
 @Data
 public class TransactionRequest {
 
-    @NotBlank(message = "TransactionID is required")
-    private String transactionID;
+    @NotEmpty(message = "TransactionID is required")
+    private byte[] transactionID;
 
-    @NotBlank(message = "Account is required")
-    private String account;
+    @NotEmpty(message = "Account is required")
+    private byte[] account;
 
-    @NotBlank(message = "InDebt is required")
-    private String inDebt;
+    @NotEmpty(message = "InDebt is required")
+    private byte[] inDebt;
 
-    @NotBlank(message = "Have is required")
-    private String have;
+    @NotEmpty(message = "Have is required")
+    private byte[] have;
 
-    @NotBlank(message = "Time is required")
-    private String time;
+    @NotEmpty(message = "Time is required")
+    private byte[] time;
 }
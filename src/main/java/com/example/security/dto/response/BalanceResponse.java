@@ -0,0 +1,20 @@
+package com.example.security.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceResponse {
+
+    private String account;
+
+    private BigDecimal balance;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,24 @@
+package com.example.security.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of one transfer inside a bulk submission.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransferItemResponse {
+
+    private int index;
+
+    private String status;
+
+    private List<TransactionResponse> transactions;
+
+    private String error;
+}
@@ -0,0 +1,24 @@
+package com.example.security.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk transfer submission with one entry per submitted transfer.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransferResponse {
+
+    private int total;
+
+    private int succeeded;
+
+    private int failed;
+
+    private List<BulkTransferItemResponse> results;
+}
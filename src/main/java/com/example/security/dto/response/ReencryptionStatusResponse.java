@@ -0,0 +1,25 @@
+package com.example.security.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReencryptionStatusResponse {
+
+    private String state;
+
+    private String activeKeyId;
+
+    private Long lastId;
+
+    private long scanned;
+
+    private long reencrypted;
+
+    private long backfilled;
+
+    private long failed;
+}
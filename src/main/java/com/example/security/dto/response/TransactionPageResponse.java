@@ -0,0 +1,20 @@
+package com.example.security.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of transactions with an opaque cursor for the next page, or null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageResponse {
+
+    private List<TransactionResponse> items;
+
+    private String nextCursor;
+}
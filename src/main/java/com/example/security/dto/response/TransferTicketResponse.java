@@ -0,0 +1,21 @@
+package com.example.security.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransferTicketResponse {
+
+    private Long ticketId;
+
+    private String status;
+
+    private List<String> transactionIDs;
+
+    private String error;
+}
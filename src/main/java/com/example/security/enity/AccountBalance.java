@@ -0,0 +1,30 @@
+package com.example.security.enity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running balance of an account, keyed by the account blind index and maintained
+ * incrementally in the same database transaction as the transaction legs.
+ */
+@Entity
+@Table(name = "account_balance")
+@Data
+public class AccountBalance {
+
+    @Id
+    @Column(name = "account_index", length = 64)
+    private String accountIndex;
+
+    @Column(name = "balance", nullable = false, precision = 38, scale = 2)
+    private BigDecimal balance;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,37 @@
+package com.example.security.enity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response stored for an {@code Idempotency-Key}. The key is the primary key, so a second
+ * submission with the same key cannot be committed twice. The request fingerprint tells a retry
+ * of the same request from a different request that reuses the key.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+@Data
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 128)
+    private String idempotencyKey;
+
+    @Column(name = "response_body", nullable = false, columnDefinition = "TEXT")
+    private String responseBody;
+
+    /**
+     * Hex SHA-256 of the request, null for rows stored before fingerprints were recorded.
+     */
+    @Column(name = "request_fingerprint", length = 64)
+    private String requestFingerprint;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,10 +1,10 @@
 package com.example.security.enity;
 
+import com.example.security.util.TimeOrderedId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
@@ -16,12 +16,14 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_account_index_time", columnList = "account_index, transaction_time, id")
+})
 @Data
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
 
     @NotBlank(message = "TransactionID is required")
@@ -32,6 +34,9 @@ public class Transaction {
     @Column(name = "account", nullable = false)
     private String account;
 
+    @Column(name = "account_index", length = 64)
+    private String accountIndex;
+
     @NotNull(message = "InDebt is required")
     @DecimalMin(value = "0.0", inclusive = true, message = "InDebt must be non-negative")
     @Column(name = "in_debt", nullable = false)
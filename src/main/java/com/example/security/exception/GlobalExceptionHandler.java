@@ -2,14 +2,17 @@ package com.example.security.exception;
 
 import com.example.security.constant.Constant;
 import com.example.security.dto.response.ErrorResponse;
+import com.example.security.util.CountingAsyncAppender;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
@@ -27,6 +30,8 @@ import java.util.Map;
 /**
  * Global exception handler for the REST API.
  * Handles and logs all exceptions thrown by controllers, returning standardized error responses.
+ * Client errors (4xx) are logged at WARN without a stack trace, so a burst of bad requests stays cheap
+ * to log; server errors keep theirs at ERROR.
  */
 @RestControllerAdvice
 @Slf4j
@@ -53,7 +58,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(IOException.class)
     public ResponseEntity<ErrorResponse<Object>> handleIOException(IOException ex) {
-        log.error(Constant.IO_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+        logClientError(Constant.IO_EXCEPTION_OCCURRED, ex);
         ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.ERROR, ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
@@ -66,7 +71,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ErrorResponse<Object>> handleNotFoundException(NotFoundException ex) {
-        log.error(Constant.NOT_FOUND_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+        logClientError(Constant.NOT_FOUND_EXCEPTION_OCCURRED, ex);
         ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.NOT_FOUND, ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
@@ -79,7 +84,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ErrorResponse<Object>> handleBadRequestException(BadRequestException ex) {
-        log.error(Constant.BAD_REQUEST_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+        logClientError(Constant.BAD_REQUEST_EXCEPTION_OCCURRED, ex);
         ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.BAD_REQUEST, ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
@@ -92,7 +97,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse<Map<String, String>>> handleValidationException(MethodArgumentNotValidException ex) {
-        log.error(Constant.VALIDATION_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+        logClientError(Constant.VALIDATION_EXCEPTION_OCCURRED, ex);
 
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(error ->
@@ -124,7 +129,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse<Object>> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
-        log.error(Constant.DATA_INTEGRITY_VIOLATION_OCCURRED, ex.getMessage(), ex);
+        logClientError(Constant.DATA_INTEGRITY_VIOLATION_OCCURRED, ex);
         ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.ERROR, ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
@@ -137,7 +142,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse<Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
-        log.error(Constant.ILLEGAL_ARGUMENT_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+        logClientError(Constant.ILLEGAL_ARGUMENT_EXCEPTION_OCCURRED, ex);
         ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.BAD_REQUEST, ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
@@ -150,11 +155,27 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(ConflictException.class)
     public ResponseEntity<ErrorResponse<Object>> handleConflictException(ConflictException ex) {
-        log.error(Constant.CONFLICT_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+        logClientError(Constant.CONFLICT_EXCEPTION_OCCURRED, ex);
         ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.CONFLICT, ex.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    /**
+     * Handles ServiceOverloadedException when a bounded executor rejects work.
+     * Logged without a stack trace, since it is expected under load and says nothing about the request.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details and a Retry-After header
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ErrorResponse<Object>> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        log.warn(CountingAsyncAppender.DISCARDABLE, Constant.SERVICE_OVERLOADED_EXCEPTION_OCCURRED, ex.getMessage());
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.SERVICE_UNAVAILABLE, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     /**
      * Handles exceptions thrown when the request body is not readable,
      * such as malformed JSON or invalid format.
@@ -164,7 +185,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ErrorResponse<Object>> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
-        log.error(Constant.FAILED_TO_READ_REQUEST_BODY, ex.getMessage(), ex);
+        logClientError(Constant.FAILED_TO_READ_REQUEST_BODY, ex);
 
         ErrorResponse<Object> errorResponse = ErrorResponse.of(
                 Constant.INVALID_REQUEST_BODY,
@@ -181,7 +202,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ErrorResponse<Object>> handleHttpRequestMethodNotSupportedException(HttpRequestMethodNotSupportedException ex) {
-        log.error(Constant.HttpRequestMethodNotSupportedException, ex.getMessage(), ex);
+        logClientError(Constant.HttpRequestMethodNotSupportedException, ex);
         ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.HTTP_METHOD_NOT_ALLOWED, Constant.HTTP_METHOD_NOT_SUPPORT + ex.getMethod());
         return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body(errorResponse);
     }
@@ -194,11 +215,24 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(NoResourceFoundException.class)
     public ResponseEntity<ErrorResponse<Object>> handlerNoResourceFoundException(NoResourceFoundException ex) {
-        log.error(Constant.NO_RESOURCE_FOUND_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+        logClientError(Constant.NO_RESOURCE_FOUND_EXCEPTION_OCCURRED, ex);
         ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.NOT_FOUND, ex.getMessage());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    /**
+     * Handles MissingServletRequestParameterException for missing required query parameters.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with error details
+     */
+    @ExceptionHandler(MissingServletRequestParameterException.class)
+    public ResponseEntity<ErrorResponse<Object>> handleMissingServletRequestParameterException(MissingServletRequestParameterException ex) {
+        logClientError(Constant.MISSING_REQUEST_PARAMETER_EXCEPTION_OCCURRED, ex);
+        ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.BAD_REQUEST, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
     /**
      * Handles NoResourceFoundException for invalid parameter types.
      *
@@ -207,7 +241,7 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ErrorResponse<Object>> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
-        log.error(Constant.METHOD_ARGUMENT_TYPE_MISMATCH_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+        logClientError(Constant.METHOD_ARGUMENT_TYPE_MISMATCH_EXCEPTION_OCCURRED, ex);
         String message = String.format(
                 Constant.METHOD_ARGUMENT_TYPE_MISMATCH,
                 ex.getName(),
@@ -233,8 +267,26 @@ public class GlobalExceptionHandler {
     @ExceptionHandler({InvalidKeyException.class, NoSuchAlgorithmException.class, NoSuchPaddingException.class,
             InvalidAlgorithmParameterException.class, IllegalBlockSizeException.class, BadPaddingException.class})
     public ResponseEntity<ErrorResponse<Object>> handleCryptographicException(Exception ex) {
-        log.error("Cryptographic error: {}", ex.getMessage(), ex);
+        // a missing algorithm or padding, or an unusable key, is a server misconfiguration, not a bad request
+        if (ex instanceof InvalidKeyException || ex instanceof NoSuchAlgorithmException || ex instanceof NoSuchPaddingException) {
+            log.error(Constant.CRYPTOGRAPHIC_EXCEPTION_OCCURRED, ex.getMessage(), ex);
+            ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.ERROR, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+        logClientError(Constant.CRYPTOGRAPHIC_EXCEPTION_OCCURRED, ex);
         ErrorResponse<Object> errorResponse = ErrorResponse.of(Constant.BAD_REQUEST, ex.getMessage());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
+
+    /**
+     * Log a client error at WARN, marked so the async appender may drop it when its queue is nearly full.
+     * The stack trace is only added when DEBUG is enabled for this class.
+     */
+    private static void logClientError(String message, Exception ex) {
+        if (log.isDebugEnabled()) {
+            log.warn(CountingAsyncAppender.DISCARDABLE, message, ex.getMessage(), ex);
+        } else {
+            log.warn(CountingAsyncAppender.DISCARDABLE, message, ex.getMessage());
+        }
+    }
 }
@@ -0,0 +1,19 @@
+package com.example.security.exception;
+
+/**
+ * Exception thrown when a bounded resource, such as the crypto executor queue, cannot accept more work.
+ * Mapped to 503 with a {@code Retry-After} header.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.security.mapper;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.TransactionPayload;
+import com.example.security.dto.request.TransactionUserRequest;
+import com.example.security.dto.response.TransactionResponse;
+import com.example.security.enity.Transaction;
+import com.example.security.exception.BadRequestException;
+import com.example.security.util.AesUtil;
+import com.example.security.util.BlindIndexer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.math.BigDecimal;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Maps between transfer requests, plain transaction legs, entities and responses.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionMapper {
+
+    private final BlindIndexer blindIndexer;
+
+    /**
+     * Build the sender (debt) and receiver (credit) legs of a transfer.
+     *
+     * @param transactionUserRequest the transfer request
+     * @param time the transaction time shared by both legs
+     * @return the sender leg followed by the receiver leg
+     */
+    public List<TransactionPayload> toLegs(TransactionUserRequest transactionUserRequest, LocalDateTime time) {
+        String timeValue = time.toString();
+        String transferAmount = transactionUserRequest.getTransferAmount().toPlainString();
+        String zero = BigDecimal.ZERO.toPlainString();
+        return List.of(
+                new TransactionPayload(String.valueOf(UUID.randomUUID()), transactionUserRequest.getAccountSender(), transferAmount, zero, timeValue),
+                new TransactionPayload(String.valueOf(UUID.randomUUID()), transactionUserRequest.getAccountReceiver(), zero, transferAmount, timeValue)
+        );
+    }
+
+    /**
+     * Convert the plain legs of a request into entities, encrypting all accounts as one batch
+     * so the AES key schedule is set up once instead of once per leg.
+     *
+     * @param legs the decrypted transaction legs
+     * @return the transaction entities in the same order, ready to be persisted
+     * @throws BadRequestException if an amount is not a decimal number or the time is not an ISO-8601 local date-time
+     * @throws InvalidAlgorithmParameterException if the IV is invalid
+     * @throws NoSuchPaddingException if the padding mechanism is not available
+     * @throws IllegalBlockSizeException if the block size is incorrect
+     * @throws NoSuchAlgorithmException if the AES algorithm is not available
+     * @throws BadPaddingException if the padding is incorrect
+     * @throws InvalidKeyException if the secret key is invalid
+     */
+    public List<Transaction> toEntities(List<TransactionPayload> legs) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException {
+        List<String> accounts = AesUtil.encryptAll(legs.stream().map(TransactionPayload::getAccount).toList());
+        List<Transaction> transactions = new ArrayList<>(legs.size());
+        for (int i = 0; i < legs.size(); i++) {
+            TransactionPayload leg = legs.get(i);
+            Transaction transaction = new Transaction();
+            transaction.setTransactionID(leg.getTransactionID());
+            transaction.setAccount(accounts.get(i));
+            transaction.setAccountIndex(blindIndexer.index(leg.getAccount()));
+            try {
+                transaction.setInDebt(new BigDecimal(leg.getInDebt()));
+                transaction.setHave(new BigDecimal(leg.getHave()));
+                transaction.setTime(LocalDateTime.parse(leg.getTime()));
+            } catch (NumberFormatException | DateTimeParseException ex) {
+                throw new BadRequestException(Constant.INVALID_TRANSACTION_LEG + leg.getTransactionID());
+            }
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    /**
+     * Convert a persisted entity into its response representation.
+     *
+     * @param transaction the transaction entity
+     * @return the transaction response
+     */
+    public TransactionResponse toResponse(Transaction transaction) {
+        return new TransactionResponse(
+                transaction.getId(),
+                transaction.getTransactionID(),
+                transaction.getAccount(),
+                transaction.getInDebt(),
+                transaction.getHave(),
+                transaction.getTime()
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.security.repository;
+
+import com.example.security.enity.AccountBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface AccountBalanceRepository extends JpaRepository<AccountBalance, String> {
+
+    /**
+     * Atomically add a delta to an account balance, creating the row on first use.
+     * The increment is done by the database, so concurrent transfers on a hot account
+     * never read-modify-write the balance in the application.
+     */
+    @Modifying
+    @Query(value = "insert into account_balance (account_index, balance, updated_at) values (:accountIndex, :delta, :updatedAt)"
+            + " on duplicate key update balance = balance + :delta, updated_at = :updatedAt", nativeQuery = true)
+    int addToBalance(@Param("accountIndex") String accountIndex,
+                     @Param("delta") BigDecimal delta,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+}
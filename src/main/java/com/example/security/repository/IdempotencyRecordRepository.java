@@ -0,0 +1,32 @@
+package com.example.security.repository;
+
+import com.example.security.enity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Plain insert of a stored response. Unlike {@code save}, which merges an entity with an assigned id,
+     * this fails on a duplicate key, so a concurrent duplicate submission rolls back its own transaction.
+     */
+    @Modifying
+    @Query(value = "insert into idempotency_keys (idempotency_key, request_fingerprint, response_body, created_at) values (:idempotencyKey, :requestFingerprint, :responseBody, :createdAt)",
+            nativeQuery = true)
+    int insert(@Param("idempotencyKey") String idempotencyKey,
+               @Param("requestFingerprint") String requestFingerprint,
+               @Param("responseBody") String responseBody,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
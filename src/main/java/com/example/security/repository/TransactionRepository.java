@@ -1,9 +1,45 @@
 package com.example.security.repository;
 
 import com.example.security.enity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionRepositoryCustom {
+
+    /**
+     * First page of an account's history, newest first, served by the (account_index, transaction_time, id) index.
+     */
+    @Query("select t from Transaction t where t.accountIndex = :accountIndex order by t.time desc, t.id desc")
+    List<Transaction> findHistoryFirstPage(@Param("accountIndex") String accountIndex, Pageable pageable);
+
+    /**
+     * Next page of an account's history: rows strictly after the (time, id) keyset cursor, newest first.
+     */
+    @Query("select t from Transaction t where t.accountIndex = :accountIndex"
+            + " and (t.time < :time or (t.time = :time and t.id < :id))"
+            + " order by t.time desc, t.id desc")
+    List<Transaction> findHistoryPageAfter(@Param("accountIndex") String accountIndex,
+                                           @Param("time") LocalDateTime time,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    /**
+     * The given transaction ids that are already stored, looked up through the unique transaction_id index.
+     */
+    @Query("select t.transactionID from Transaction t where t.transactionID in :transactionIDs")
+    List<String> findExistingTransactionIds(@Param("transactionIDs") Collection<String> transactionIDs);
+
+    /**
+     * The next chunk of rows in primary key order, strictly after the given id, for batch jobs that walk the table.
+     */
+    @Query("select t from Transaction t where t.id > :afterId order by t.id")
+    List<Transaction> findChunkAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -0,0 +1,21 @@
+package com.example.security.repository;
+
+import com.example.security.enity.Transaction;
+
+import java.util.stream.Stream;
+
+/**
+ * Custom queries of {@link TransactionRepository} that need direct control over the JDBC cursor.
+ */
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Stream transactions with an id greater than {@code afterId} in id order.
+     * Must be consumed and closed inside a transaction.
+     *
+     * @param afterId the exclusive lower id bound, 0 to start from the beginning
+     * @param fetchSize the JDBC fetch size; {@link Integer#MIN_VALUE} makes MySQL stream row by row
+     * @return a lazily fetched stream of transactions
+     */
+    Stream<Transaction> streamAfter(long afterId, int fetchSize);
+}
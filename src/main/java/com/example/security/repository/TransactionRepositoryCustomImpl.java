@@ -0,0 +1,27 @@
+package com.example.security.repository;
+
+import com.example.security.enity.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+/**
+ * Implementation of {@link TransactionRepositoryCustom}.
+ */
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<Transaction> streamAfter(long afterId, int fetchSize) {
+        return entityManager.createQuery("select t from Transaction t where t.id > :afterId order by t.id", Transaction.class)
+                .setParameter("afterId", afterId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(entityManager::detach);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.security.service;
+
+import com.example.security.dto.response.BalanceResponse;
+import com.example.security.enity.Transaction;
+
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Service interface for the per-account balance projection.
+ */
+public interface IAccountBalanceService {
+
+    /**
+     * Apply the credit/debit of the given transaction legs to the account balances.
+     * Must be called inside the database transaction that persists the legs.
+     *
+     * @param transactions the persisted transaction legs
+     */
+    void applyTransactions(List<Transaction> transactions);
+
+    /**
+     * Get the current balance of an account.
+     *
+     * @param account the plain account number
+     * @return the account balance
+     * @throws NoSuchAlgorithmException if the blind index algorithm is not available
+     * @throws InvalidKeyException if the blind index key is invalid
+     */
+    BalanceResponse getBalance(String account) throws NoSuchAlgorithmException, InvalidKeyException;
+}
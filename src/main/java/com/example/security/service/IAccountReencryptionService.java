@@ -0,0 +1,38 @@
+package com.example.security.service;
+
+import com.example.security.dto.response.ReencryptionStatusResponse;
+
+/**
+ * Service interface for re-encrypting the stored {@code account} column with the active AES key.
+ */
+public interface IAccountReencryptionService {
+
+    /**
+     * Start walking the transactions table in the background, re-encrypting every row that is not on the active key.
+     *
+     * @param afterId resume after this transaction id, 0 to start from the beginning
+     * @return the job status
+     */
+    ReencryptionStatusResponse start(long afterId);
+
+    /**
+     * Pause the running job after its current chunk.
+     *
+     * @return the job status
+     */
+    ReencryptionStatusResponse pause();
+
+    /**
+     * Resume a paused job.
+     *
+     * @return the job status
+     */
+    ReencryptionStatusResponse resume();
+
+    /**
+     * Get the state and progress of the current or last job.
+     *
+     * @return the job status
+     */
+    ReencryptionStatusResponse getStatus();
+}
@@ -0,0 +1,20 @@
+package com.example.security.service;
+
+import com.example.security.dto.request.TransactionUserRequest;
+import com.example.security.dto.response.BulkTransferResponse;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+/**
+ * Service interface for bulk transfer submissions.
+ */
+public interface IBulkTransferService {
+
+    /**
+     * Process a stream of transfers in chunks, each chunk persisted in its own database transaction.
+     * Invalid or failing transfers are reported per item without aborting the rest of the submission.
+     *
+     * @param transfers the transfers, read lazily from a JSON array or NDJSON body
+     * @return the per-item results of the submission
+     */
+    BulkTransferResponse transfer(MappingIterator<TransactionUserRequest> transfers);
+}
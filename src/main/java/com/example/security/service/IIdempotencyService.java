@@ -0,0 +1,41 @@
+package com.example.security.service;
+
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.response.ApiResponse;
+
+import java.util.Optional;
+
+/**
+ * Service interface for {@code Idempotency-Key} handling of transfer submissions.
+ */
+public interface IIdempotencyService {
+
+    /**
+     * Find the response stored for an idempotency key, looking at the in-memory cache,
+     * the optional Redis tier and the database in that order.
+     *
+     * @param idempotencyKey the idempotency key with the fingerprint of the current request
+     * @return the stored response, or empty if the key has not been used
+     * @throws com.example.security.exception.ConflictException if the key was used with a different request
+     */
+    Optional<ApiResponse<Object>> find(IdempotencyKey idempotencyKey);
+
+    /**
+     * Store the response of a submission in the database. Must be called inside the database
+     * transaction that performs the writes, so the response and the writes commit together;
+     * the caches are filled after commit.
+     *
+     * @param idempotencyKey the idempotency key with the fingerprint of the request
+     * @param response the response to return for later submissions with the same key
+     */
+    void record(IdempotencyKey idempotencyKey, ApiResponse<Object> response);
+
+    /**
+     * Keep a response in the cache tiers only, for responses whose writes were recorded elsewhere,
+     * e.g. by the remote node a request was forwarded to.
+     *
+     * @param idempotencyKey the idempotency key with the fingerprint of the request
+     * @param response the response to return for later submissions with the same key
+     */
+    void remember(IdempotencyKey idempotencyKey, ApiResponse<Object> response);
+}
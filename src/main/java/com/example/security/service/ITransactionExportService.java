@@ -0,0 +1,23 @@
+package com.example.security.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service interface for exporting the transactions table.
+ */
+public interface ITransactionExportService {
+
+    /**
+     * Stream transactions with an id greater than {@code afterId}, in id order, to the given output.
+     * Accounts are decrypted on the fly. A client can resume an interrupted export by passing
+     * the last id it received as {@code afterId}.
+     *
+     * @param format the output format, {@code ndjson} or {@code csv}
+     * @param afterId the exclusive lower id bound, 0 to start from the beginning
+     * @param limit the maximum number of rows to write, 0 for no limit
+     * @param outputStream the destination, left open
+     * @throws IOException if writing to the output fails
+     */
+    void export(String format, long afterId, long limit, OutputStream outputStream) throws IOException;
+}
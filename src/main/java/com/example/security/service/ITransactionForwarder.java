@@ -0,0 +1,34 @@
+package com.example.security.service;
+
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.response.ApiResponse;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+
+/**
+ * Forwards an encrypted transaction batch prepared by {@code /info} to the transaction creation step.
+ */
+public interface ITransactionForwarder {
+
+    /**
+     * Forward the encrypted batch and return the creation result.
+     *
+     * @param listTransactionRequest the encrypted list transaction request
+     * @param idempotencyKey the Idempotency-Key of the submission with its request fingerprint, passed on to the creation step, or null
+     * @return ApiResponse containing the created transaction records
+     * @throws InvalidAlgorithmParameterException if the algorithm parameters are invalid
+     * @throws NoSuchPaddingException if the padding mechanism is not available
+     * @throws IllegalBlockSizeException if the block size is illegal
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     * @throws BadPaddingException if the padding is incorrect
+     * @throws InvalidKeyException if the key is invalid
+     */
+    ApiResponse<Object> forward(ListTransactionRequest listTransactionRequest, IdempotencyKey idempotencyKey) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidKeySpecException;
+}
@@ -1,8 +1,11 @@
 package com.example.security.service;
 
+import com.example.security.dto.request.IdempotencyKey;
 import com.example.security.dto.request.ListTransactionRequest;
 import com.example.security.dto.request.TransactionUserRequest;
+import com.example.security.dto.response.TransactionPageResponse;
 import com.example.security.dto.response.TransactionResponse;
+import com.example.security.enity.Transaction;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
@@ -12,6 +15,7 @@ import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service interface for transaction operations.
@@ -26,12 +30,15 @@ public interface ITransactionService {
      * @throws NoSuchAlgorithmException if the algorithm is not available
      * @throws InvalidKeySpecException if the key specification is invalid
      */
-    ListTransactionRequest createListRequest(TransactionUserRequest transactionUserRequest) throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, IllegalBlockSizeException, BadPaddingException, InvalidKeyException;
+    ListTransactionRequest createListRequest(TransactionUserRequest transactionUserRequest) throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, IllegalBlockSizeException, BadPaddingException, InvalidKeyException, InvalidAlgorithmParameterException;
 
     /**
      * Create and save two transaction records (sender and receiver) and return their responses.
      *
+     * When an idempotency key is given, the response is stored under it in the same database transaction.
+     *
      * @param listTransactionRequest the list transaction request data
+     * @param idempotencyKey the Idempotency-Key of the submission with its request fingerprint, or null
      * @return list of transaction responses (sender and receiver)
      * @throws InvalidAlgorithmParameterException if the algorithm parameters are invalid
      * @throws NoSuchPaddingException if the padding mechanism is not available
@@ -40,5 +47,42 @@ public interface ITransactionService {
      * @throws BadPaddingException if the padding is incorrect
      * @throws InvalidKeyException if the key is invalid
      */
-    List<TransactionResponse> createTransaction(ListTransactionRequest listTransactionRequest) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidKeySpecException;
+    List<TransactionResponse> createTransaction(ListTransactionRequest listTransactionRequest, IdempotencyKey idempotencyKey) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidKeySpecException;
+
+    /**
+     * Create and save the transaction records like {@link #createTransaction}, without blocking the caller.
+     * The RSA and AES work runs on the bounded crypto executor.
+     *
+     * @param listTransactionRequest the list transaction request data
+     * @param idempotencyKey the Idempotency-Key of the submission with its request fingerprint, or null
+     * @return the future list of transaction responses; fails with the same exceptions the synchronous call throws
+     * @throws com.example.security.exception.ServiceOverloadedException if the crypto executor queue is full
+     */
+    CompletableFuture<List<TransactionResponse>> createTransactionAsync(ListTransactionRequest listTransactionRequest, IdempotencyKey idempotencyKey);
+
+    /**
+     * Decrypt a transfer batch and map its legs to entities ready to be persisted, without writing them.
+     *
+     * @param listTransactionRequest the list transaction request data
+     * @return the transaction entities, with the account encrypted for storage
+     * @throws InvalidAlgorithmParameterException if the algorithm parameters are invalid
+     * @throws NoSuchPaddingException if the padding mechanism is not available
+     * @throws IllegalBlockSizeException if the block size is illegal
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     * @throws BadPaddingException if the padding is incorrect
+     * @throws InvalidKeyException if the key is invalid
+     */
+    List<Transaction> decryptTransactions(ListTransactionRequest listTransactionRequest) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException;
+
+    /**
+     * Find the transaction history of an account, newest first, using keyset pagination.
+     *
+     * @param account the plain account number
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the page size
+     * @return the page of transactions and the cursor of the next page
+     * @throws NoSuchAlgorithmException if the blind index algorithm is not available
+     * @throws InvalidKeyException if the blind index key is invalid
+     */
+    TransactionPageResponse findByAccount(String account, String cursor, int size) throws NoSuchAlgorithmException, InvalidKeyException;
 }
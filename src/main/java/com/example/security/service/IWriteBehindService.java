@@ -0,0 +1,40 @@
+package com.example.security.service;
+
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.response.TransferTicketResponse;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Service interface for write-behind transaction ingest.
+ */
+public interface IWriteBehindService {
+
+    /**
+     * Decrypt a transfer batch, append it to the write-ahead log and return a ticket.
+     * The batch is written to the database later by the background drainer.
+     *
+     * @param listTransactionRequest the encrypted list transaction request
+     * @return the ticket of the accepted batch
+     * @throws InvalidAlgorithmParameterException if the algorithm parameters are invalid
+     * @throws NoSuchPaddingException if the padding mechanism is not available
+     * @throws IllegalBlockSizeException if the block size is illegal
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     * @throws BadPaddingException if the padding is incorrect
+     * @throws InvalidKeyException if the key is invalid
+     */
+    TransferTicketResponse submit(ListTransactionRequest listTransactionRequest) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException;
+
+    /**
+     * Get the state of a ticket.
+     *
+     * @param ticketId the ticket id
+     * @return the ticket state
+     */
+    TransferTicketResponse getTicket(long ticketId);
+}
@@ -0,0 +1,72 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.response.BalanceResponse;
+import com.example.security.enity.AccountBalance;
+import com.example.security.enity.Transaction;
+import com.example.security.exception.BadRequestException;
+import com.example.security.exception.NotFoundException;
+import com.example.security.repository.AccountBalanceRepository;
+import com.example.security.service.IAccountBalanceService;
+import com.example.security.util.BlindIndexer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Service implementation for the per-account balance projection.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountBalanceServiceImpl implements IAccountBalanceService {
+
+    private final AccountBalanceRepository accountBalanceRepository;
+
+    private final BlindIndexer blindIndexer;
+
+    /**
+     * Apply the credit/debit of the given transaction legs to the account balances.
+     * Deltas are summed per account first and applied in a fixed account order, so two
+     * concurrent batches touching the same accounts lock their rows in the same order.
+     *
+     * @param transactions the persisted transaction legs
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyTransactions(List<Transaction> transactions) {
+        Map<String, BigDecimal> deltas = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getAccountIndex() != null) {
+                deltas.merge(transaction.getAccountIndex(), transaction.getHave().subtract(transaction.getInDebt()), BigDecimal::add);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        deltas.forEach((accountIndex, delta) -> accountBalanceRepository.addToBalance(accountIndex, delta, now));
+    }
+
+    /**
+     * Get the current balance of an account with a single primary key lookup.
+     *
+     * @param account the plain account number
+     * @return the account balance
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BalanceResponse getBalance(String account) throws NoSuchAlgorithmException, InvalidKeyException {
+        if (account == null || account.isBlank()) {
+            throw new BadRequestException(Constant.ACCOUNT_REQUIRED);
+        }
+        AccountBalance accountBalance = accountBalanceRepository.findById(blindIndexer.index(account))
+                .orElseThrow(() -> new NotFoundException(Constant.ACCOUNT_BALANCE_NOT_FOUND));
+        return new BalanceResponse(account, accountBalance.getBalance(), accountBalance.getUpdatedAt());
+    }
+}
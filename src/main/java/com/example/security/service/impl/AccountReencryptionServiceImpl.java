@@ -0,0 +1,274 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.response.ReencryptionStatusResponse;
+import com.example.security.enity.Transaction;
+import com.example.security.exception.BadRequestException;
+import com.example.security.exception.ConflictException;
+import com.example.security.repository.TransactionRepository;
+import com.example.security.service.IAccountReencryptionService;
+import com.example.security.util.AesUtil;
+import com.example.security.util.BlindIndexer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.GeneralSecurityException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-encrypts the {@code account} column after a key rotation or a change of {@code aes.mode}.
+ * <p>
+ * A single background thread walks {@code transactions} in primary key order, one chunk of
+ * {@code aes.reencryption.chunk-size} rows per transaction, and rewrites every account that was not
+ * encrypted with the active key and mode; rows without a blind index get one on the way. Transaction rows are
+ * never updated by live traffic and new rows are already written with the active key, so the job takes
+ * no locks beyond the rows of its current chunk. Throughput is capped at {@code rows-per-second}.
+ * <p>
+ * Progress is kept in memory only and only advances once a chunk has committed. After a restart, start
+ * again from 0 or from the last reported id; rows already on the active key are skipped without writing.
+ * A job that reached the end with rows it could not re-encrypt ends {@code INCOMPLETE}, not {@code COMPLETED}:
+ * those rows still need the old key.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountReencryptionServiceImpl implements IAccountReencryptionService {
+
+    private final TransactionRepository transactionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlindIndexer blindIndexer;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${aes.reencryption.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${aes.reencryption.rows-per-second:1000}")
+    private int rowsPerSecond;
+
+    @Value("${aes.reencryption.auto-start:false}")
+    private boolean autoStart;
+
+    private final AtomicLong lastId = new AtomicLong();
+
+    private final AtomicLong scanned = new AtomicLong();
+
+    private final AtomicLong reencrypted = new AtomicLong();
+
+    private final AtomicLong backfilled = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private Timer chunkTimer;
+
+    private volatile String state = Constant.REENCRYPTION_IDLE;
+
+    private Thread worker;
+
+    @PostConstruct
+    public void init() {
+        chunkTimer = Timer.builder("account.reencryption.chunk")
+                .description("Time to re-encrypt one chunk of transaction rows")
+                .register(meterRegistry);
+        registerRows("scanned", scanned);
+        registerRows("reencrypted", reencrypted);
+        registerRows("backfilled", backfilled);
+        registerRows("failed", failed);
+        Gauge.builder("account.reencryption.last_id", lastId, AtomicLong::get)
+                .description("Last transaction id processed by the current re-encryption job")
+                .register(meterRegistry);
+        Gauge.builder("account.reencryption.running", this, service -> Constant.REENCRYPTION_RUNNING.equals(service.state) ? 1 : 0)
+                .description("1 while a re-encryption job is running, 0 otherwise")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startOnReady() {
+        if (autoStart && AesUtil.getActiveKeyId() != null) {
+            start(0L);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            current = worker;
+        }
+        if (current != null) {
+            current.interrupt();
+            current.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized ReencryptionStatusResponse start(long afterId) {
+        if (Constant.REENCRYPTION_RUNNING.equals(state) || Constant.REENCRYPTION_PAUSED.equals(state)) {
+            throw new ConflictException(Constant.REENCRYPTION_ALREADY_RUNNING);
+        }
+        String activeKeyId = AesUtil.getActiveKeyId();
+        if (activeKeyId == null) {
+            throw new BadRequestException(Constant.REENCRYPTION_NO_ACTIVE_KEY);
+        }
+        lastId.set(afterId);
+        scanned.set(0);
+        reencrypted.set(0);
+        backfilled.set(0);
+        failed.set(0);
+        state = Constant.REENCRYPTION_RUNNING;
+        worker = new Thread(this::run, "account-reencryption");
+        worker.setDaemon(true);
+        worker.start();
+        log.info(Constant.REENCRYPTION_STARTED, activeKeyId, afterId);
+        return getStatus();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized ReencryptionStatusResponse pause() {
+        if (!Constant.REENCRYPTION_RUNNING.equals(state)) {
+            throw new ConflictException(Constant.REENCRYPTION_NOT_RUNNING);
+        }
+        state = Constant.REENCRYPTION_PAUSED;
+        return getStatus();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized ReencryptionStatusResponse resume() {
+        if (!Constant.REENCRYPTION_PAUSED.equals(state)) {
+            throw new ConflictException(Constant.REENCRYPTION_NOT_PAUSED);
+        }
+        state = Constant.REENCRYPTION_RUNNING;
+        notifyAll();
+        return getStatus();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ReencryptionStatusResponse getStatus() {
+        return new ReencryptionStatusResponse(state, AesUtil.getActiveKeyId(), lastId.get(),
+                scanned.get(), reencrypted.get(), backfilled.get(), failed.get());
+    }
+
+    private void run() {
+        try {
+            while (awaitRunning()) {
+                long chunkStart = System.nanoTime();
+                ChunkResult chunkResult = chunkTimer.record(() -> transactionTemplate.execute(status -> reencryptChunk(lastId.get())));
+                if (chunkResult.rows() == 0) {
+                    finish(failed.get() > 0 ? Constant.REENCRYPTION_INCOMPLETE : Constant.REENCRYPTION_COMPLETED);
+                    return;
+                }
+                // the chunk has committed: only now may a resumed job skip it
+                scanned.addAndGet(chunkResult.rows());
+                reencrypted.addAndGet(chunkResult.reencrypted());
+                backfilled.addAndGet(chunkResult.backfilled());
+                failed.addAndGet(chunkResult.failed());
+                lastId.set(chunkResult.lastId());
+                throttle(chunkResult.rows(), System.nanoTime() - chunkStart);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            finish(Constant.REENCRYPTION_IDLE);
+        } catch (RuntimeException ex) {
+            log.error(Constant.REENCRYPTION_CHUNK_FAILED, lastId.get(), ex.getMessage(), ex);
+            finish(Constant.REENCRYPTION_FAILED);
+        }
+    }
+
+    /**
+     * Re-encrypt one chunk after the given id inside the caller's transaction. Changed rows are flushed
+     * as one batched update on commit. The shared progress is left alone, since the commit may still fail.
+     *
+     * @return the counts of the chunk and its last id
+     */
+    private ChunkResult reencryptChunk(long afterId) {
+        List<Transaction> chunk = transactionRepository.findChunkAfter(afterId, PageRequest.of(Constant.ZERO, chunkSize));
+        int chunkReencrypted = 0;
+        int chunkBackfilled = 0;
+        int chunkFailed = 0;
+        for (Transaction transaction : chunk) {
+            try {
+                if (transaction.getAccountIndex() == null) {
+                    transaction.setAccountIndex(blindIndexer.index(AesUtil.decrypt(transaction.getAccount())));
+                    chunkBackfilled++;
+                }
+                if (AesUtil.needsReencryption(transaction.getAccount())) {
+                    transaction.setAccount(AesUtil.reencrypt(transaction.getAccount()));
+                    chunkReencrypted++;
+                }
+            } catch (GeneralSecurityException | IllegalArgumentException ex) {
+                chunkFailed++;
+                log.warn(Constant.REENCRYPTION_ROW_FAILED, transaction.getId(), ex.getMessage());
+            }
+        }
+        long chunkLastId = chunk.isEmpty() ? afterId : chunk.get(chunk.size() - 1).getId();
+        return new ChunkResult(chunk.size(), chunkLastId, chunkReencrypted, chunkBackfilled, chunkFailed);
+    }
+
+    /**
+     * Block while the job is paused.
+     *
+     * @return false if the job should stop
+     */
+    private synchronized boolean awaitRunning() throws InterruptedException {
+        while (Constant.REENCRYPTION_PAUSED.equals(state)) {
+            wait();
+        }
+        return Constant.REENCRYPTION_RUNNING.equals(state);
+    }
+
+    /**
+     * Sleep long enough to keep the average rate at or below {@code rows-per-second}.
+     */
+    private void throttle(int rows, long elapsedNanos) throws InterruptedException {
+        if (rowsPerSecond <= 0) {
+            return;
+        }
+        long remainingNanos = TimeUnit.SECONDS.toNanos(rows) / rowsPerSecond - elapsedNanos;
+        if (remainingNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(remainingNanos);
+        }
+    }
+
+    private synchronized void finish(String finalState) {
+        state = finalState;
+        worker = null;
+        log.info(Constant.REENCRYPTION_FINISHED, lastId.get(), scanned.get(), reencrypted.get(), backfilled.get(), failed.get());
+    }
+
+    private void registerRows(String result, AtomicLong value) {
+        Gauge.builder("account.reencryption.rows", value, AtomicLong::get)
+                .description("Rows handled by the current re-encryption job")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record ChunkResult(int rows, long lastId, int reencrypted, int backfilled, int failed) {
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.TransactionUserRequest;
+import com.example.security.dto.response.BulkTransferItemResponse;
+import com.example.security.dto.response.BulkTransferResponse;
+import com.example.security.enity.Transaction;
+import com.example.security.mapper.TransactionMapper;
+import com.example.security.service.IBulkTransferService;
+import com.example.security.util.TransferMetrics;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for bulk transfers. Transfers are validated and mapped one by one,
+ * then persisted chunk by chunk with a single database transaction and batched insert per chunk.
+ * When a chunk fails, its transfers are retried one by one so only the offending ones are reported as failed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkTransferServiceImpl implements IBulkTransferService {
+
+    private final TransactionWriter transactionWriter;
+
+    private final TransactionMapper transactionMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Validator validator;
+
+    private final TransferMetrics transferMetrics;
+
+    @Value("${transaction.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${transaction.bulk.max-items:50000}")
+    private int maxItems;
+
+    /**
+     * Process a stream of transfers in chunks, each chunk persisted in its own database transaction.
+     *
+     * @param transfers the transfers, read lazily from a JSON array or NDJSON body
+     * @return the per-item results of the submission
+     */
+    @Override
+    public BulkTransferResponse transfer(MappingIterator<TransactionUserRequest> transfers) {
+        List<BulkTransferItemResponse> results = new ArrayList<>();
+        List<PendingTransfer> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        try {
+            while (transfers.hasNextValue()) {
+                if (index >= maxItems) {
+                    results.add(failed(index, Constant.BULK_MAX_ITEMS_EXCEEDED + maxItems));
+                    break;
+                }
+                PendingTransfer pendingTransfer;
+                try {
+                    pendingTransfer = prepare(index, transfers.nextValue(), results);
+                } catch (DatabindException ex) {
+                    results.add(failed(index, Constant.INVALID_BULK_ITEM + ex.getOriginalMessage()));
+                    pendingTransfer = null;
+                }
+                index++;
+                if (pendingTransfer != null) {
+                    chunk.add(pendingTransfer);
+                }
+                if (chunk.size() >= chunkSize) {
+                    persistChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException ex) {
+            results.add(failed(index, Constant.INVALID_BULK_ITEM + ex.getMessage()));
+            log.warn(Constant.BULK_STREAM_ABORTED, index, ex.getMessage());
+        }
+        persistChunk(chunk, results);
+
+        results.sort(Comparator.comparingInt(BulkTransferItemResponse::getIndex));
+        int succeeded = (int) results.stream().filter(result -> Constant.BULK_ITEM_SUCCEEDED.equals(result.getStatus())).count();
+        return new BulkTransferResponse(results.size(), succeeded, results.size() - succeeded, results);
+    }
+
+    private PendingTransfer prepare(int index, TransactionUserRequest transactionUserRequest, List<BulkTransferItemResponse> results) {
+        if (transactionUserRequest == null) {
+            results.add(failed(index, Constant.BULK_ITEM_REQUIRED));
+            return null;
+        }
+        Set<ConstraintViolation<TransactionUserRequest>> violations = validator.validate(transactionUserRequest);
+        if (!violations.isEmpty()) {
+            results.add(failed(index, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "))));
+            return null;
+        }
+        try {
+            List<Transaction> legs = transactionMapper.toEntities(transactionMapper.toLegs(transactionUserRequest, LocalDateTime.now()));
+            return new PendingTransfer(index, legs);
+        } catch (GeneralSecurityException | RuntimeException ex) {
+            results.add(failed(index, ex.getMessage()));
+            return null;
+        }
+    }
+
+    private void persistChunk(List<PendingTransfer> chunk, List<BulkTransferItemResponse> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Timer.Sample sample = transferMetrics.start();
+        List<Transaction> transactions = chunk.stream().flatMap(pendingTransfer -> pendingTransfer.legs().stream()).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> transactionWriter.write(transactions));
+            chunk.forEach(pendingTransfer -> results.add(succeeded(pendingTransfer)));
+        } catch (RuntimeException ex) {
+            log.warn(Constant.BULK_CHUNK_FAILED, chunk.size(), ex.getMessage());
+            chunk.forEach(pendingTransfer -> results.add(persistSingle(pendingTransfer)));
+        }
+        transferMetrics.stop(sample, Constant.STAGE_BULK_CHUNK_PERSIST);
+    }
+
+    private BulkTransferItemResponse persistSingle(PendingTransfer pendingTransfer) {
+        pendingTransfer.legs().forEach(transaction -> transaction.setId(null));
+        try {
+            transactionTemplate.executeWithoutResult(status -> transactionWriter.write(pendingTransfer.legs()));
+            return succeeded(pendingTransfer);
+        } catch (RuntimeException ex) {
+            return failed(pendingTransfer.index(), ex.getMessage());
+        }
+    }
+
+    private BulkTransferItemResponse succeeded(PendingTransfer pendingTransfer) {
+        return new BulkTransferItemResponse(pendingTransfer.index(), Constant.BULK_ITEM_SUCCEEDED,
+                pendingTransfer.legs().stream().map(transactionMapper::toResponse).toList(), null);
+    }
+
+    private static BulkTransferItemResponse failed(int index, String error) {
+        return new BulkTransferItemResponse(index, Constant.BULK_ITEM_FAILED, null, error);
+    }
+
+    private record PendingTransfer(int index, List<Transaction> legs) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs CPU-bound crypto work on the bounded crypto executor and hands back {@link CompletableFuture}s,
+ * so request threads do not spend their time in RSA private-key operations.
+ * When the executor queue is full the submission fails fast with {@link ServiceOverloadedException}
+ * (503 with {@code Retry-After}) instead of queueing without limit.
+ * <p>
+ * Tasks must not block on other crypto tasks: with every thread waiting, the queued work they wait
+ * for would never run. Compose futures instead.
+ */
+@Component
+public class CryptoScheduler {
+
+    private final ExecutorService cryptoExecutor;
+
+    private final Counter rejected;
+
+    @Value("${crypto.executor.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    public CryptoScheduler(@Qualifier("cryptoExecutor") ExecutorService cryptoExecutor, MeterRegistry meterRegistry) {
+        this.cryptoExecutor = cryptoExecutor;
+        this.rejected = Counter.builder("crypto.executor.rejected")
+                .description("Crypto tasks rejected because the executor queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedule a crypto task.
+     *
+     * @param task the task; a checked exception completes the future with it, wrapped in a {@link CompletionException}
+     * @return the future result of the task
+     * @throws ServiceOverloadedException if the executor queue is full
+     */
+    public <T> CompletableFuture<T> submit(CryptoTask<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.call();
+                } catch (GeneralSecurityException ex) {
+                    throw new CompletionException(ex);
+                }
+            }, cryptoExecutor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new ServiceOverloadedException(Constant.CRYPTO_EXECUTOR_SATURATED, retryAfterSeconds);
+        }
+    }
+
+    /**
+     * Wait for a crypto future and rethrow its original exception, so callers that need the result
+     * synchronously see exactly what running the task inline would have thrown.
+     *
+     * @param future the future
+     * @return the result
+     */
+    public static <T> T await(CompletableFuture<T> future) throws NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            rethrow(unwrap(ex));
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the original failure behind {@link CompletionException} wrappers.
+     */
+    public static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private static void rethrow(Throwable cause) throws NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
+        if (cause instanceof NoSuchPaddingException ex) {
+            throw ex;
+        }
+        if (cause instanceof IllegalBlockSizeException ex) {
+            throw ex;
+        }
+        if (cause instanceof NoSuchAlgorithmException ex) {
+            throw ex;
+        }
+        if (cause instanceof BadPaddingException ex) {
+            throw ex;
+        }
+        if (cause instanceof InvalidKeyException ex) {
+            throw ex;
+        }
+        if (cause instanceof InvalidAlgorithmParameterException ex) {
+            throw ex;
+        }
+        if (cause instanceof RuntimeException ex) {
+            throw ex;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    /**
+     * A unit of crypto work that may throw the JCA's checked exceptions.
+     */
+    @FunctionalInterface
+    public interface CryptoTask<T> {
+
+        T call() throws GeneralSecurityException;
+    }
+}
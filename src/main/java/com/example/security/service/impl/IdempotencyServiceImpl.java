@@ -0,0 +1,260 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.exception.BadRequestException;
+import com.example.security.exception.ConflictException;
+import com.example.security.repository.IdempotencyRecordRepository;
+import com.example.security.service.IIdempotencyService;
+import com.example.security.util.CountingAsyncAppender;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service implementation for {@code Idempotency-Key} handling.
+ * Stored responses live in a bounded Caffeine cache, an optional Redis tier shared between nodes,
+ * and the {@code idempotency_keys} table, whose primary key is the final guard against duplicates.
+ * Every tier keeps the request fingerprint with the response, so a key reused for a different request
+ * is rejected with 409 instead of replaying the response of the first one.
+ * Redis writes run on a dedicated thread, so a slow or unreachable Redis never holds up a request or the
+ * group committer's after-commit hooks; lookups are bounded by {@code spring.data.redis.timeout}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IdempotencyServiceImpl implements IIdempotencyService {
+
+    private static final TypeReference<ApiResponse<Object>> API_RESPONSE_TYPE = new TypeReference<>() {
+    };
+
+    private static final TypeReference<StoredResponse> STORED_RESPONSE_TYPE = new TypeReference<>() {
+    };
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${idempotency.cache.max-size:100000}")
+    private long cacheMaxSize;
+
+    @Value("${idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${idempotency.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    @Value("${idempotency.redis.write-queue-capacity:10000}")
+    private int redisWriteQueueCapacity;
+
+    private Cache<String, StoredResponse> cache;
+
+    private ExecutorService redisWriter;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "idempotency");
+        if (redisEnabled) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("idempotency-redis-");
+            threadFactory.setDaemon(true);
+            redisWriter = ExecutorServiceMetrics.monitor(meterRegistry, new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(redisWriteQueueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy()), "idempotency_redis");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (redisWriter != null) {
+            redisWriter.shutdown();
+            redisWriter.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Find the response stored for an idempotency key and check it was stored for the same request.
+     *
+     * @param idempotencyKey the idempotency key with the fingerprint of the current request
+     * @return the stored response, or empty if the key has not been used
+     */
+    @Override
+    public Optional<ApiResponse<Object>> find(IdempotencyKey idempotencyKey) {
+        validate(idempotencyKey);
+        String key = idempotencyKey.value();
+        StoredResponse storedResponse = cache.getIfPresent(key);
+        if (storedResponse == null) {
+            String storedJson = findInRedis(key);
+            if (storedJson != null) {
+                storedResponse = fromJson(storedJson, STORED_RESPONSE_TYPE);
+                cache.put(key, storedResponse);
+            }
+        }
+        if (storedResponse == null) {
+            storedResponse = idempotencyRecordRepository.findById(key)
+                    .map(idempotencyRecord -> {
+                        StoredResponse found = new StoredResponse(idempotencyRecord.getRequestFingerprint(),
+                                fromJson(idempotencyRecord.getResponseBody(), API_RESPONSE_TYPE));
+                        cache.put(key, found);
+                        saveInRedis(key, toJson(found));
+                        return found;
+                    })
+                    .orElse(null);
+        }
+        if (storedResponse == null) {
+            return Optional.empty();
+        }
+        if (storedResponse.fingerprint() != null && idempotencyKey.fingerprint() != null
+                && !Objects.equals(storedResponse.fingerprint(), idempotencyKey.fingerprint())) {
+            throw new ConflictException(Constant.IDEMPOTENCY_KEY_REUSED);
+        }
+        return Optional.of(storedResponse.response());
+    }
+
+    /**
+     * Insert the response in the caller's database transaction and fill the caches once it commits.
+     * A concurrent submission with the same key fails on the primary key and rolls back.
+     *
+     * @param idempotencyKey the idempotency key with the fingerprint of the request
+     * @param response the response to store
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(IdempotencyKey idempotencyKey, ApiResponse<Object> response) {
+        validate(idempotencyKey);
+        idempotencyRecordRepository.insert(idempotencyKey.value(), idempotencyKey.fingerprint(), toJson(response), LocalDateTime.now());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(idempotencyKey, response);
+            }
+        });
+    }
+
+    /**
+     * Keep a response in the cache tiers only.
+     *
+     * @param idempotencyKey the idempotency key with the fingerprint of the request
+     * @param response the response to keep
+     */
+    @Override
+    public void remember(IdempotencyKey idempotencyKey, ApiResponse<Object> response) {
+        validate(idempotencyKey);
+        StoredResponse storedResponse = new StoredResponse(idempotencyKey.fingerprint(), response);
+        cache.put(idempotencyKey.value(), storedResponse);
+        saveInRedis(idempotencyKey.value(), toJson(storedResponse));
+    }
+
+    /**
+     * Delete stored responses older than the idempotency TTL.
+     */
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl));
+        if (deleted > 0) {
+            log.info(Constant.IDEMPOTENCY_KEYS_EXPIRED, deleted);
+        }
+    }
+
+    private static void validate(IdempotencyKey idempotencyKey) {
+        String key = idempotencyKey.value();
+        if (key == null || key.isBlank() || key.length() > Constant.IDEMPOTENCY_KEY_MAX_LENGTH) {
+            throw new BadRequestException(Constant.INVALID_IDEMPOTENCY_KEY);
+        }
+    }
+
+    /**
+     * The Redis tier is an optimization: when it is unavailable, lookups fall through to the database.
+     */
+    private String findInRedis(String idempotencyKey) {
+        if (!redisEnabled) {
+            return null;
+        }
+        try {
+            return redisTemplateProvider.getObject().opsForValue().get(Constant.IDEMPOTENCY_REDIS_PREFIX + idempotencyKey);
+        } catch (RuntimeException ex) {
+            log.warn(Constant.IDEMPOTENCY_REDIS_UNAVAILABLE, ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Hand the write to the Redis writer thread. The caller may be the group committer running after-commit
+     * hooks, which must not wait for Redis; a write that cannot be queued is skipped.
+     */
+    private void saveInRedis(String idempotencyKey, String storedJson) {
+        if (!redisEnabled) {
+            return;
+        }
+        try {
+            redisWriter.execute(() -> {
+                try {
+                    redisTemplateProvider.getObject().opsForValue().set(Constant.IDEMPOTENCY_REDIS_PREFIX + idempotencyKey, storedJson, ttl);
+                } catch (RuntimeException ex) {
+                    log.warn(Constant.IDEMPOTENCY_REDIS_UNAVAILABLE, ex.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            log.warn(CountingAsyncAppender.DISCARDABLE, Constant.IDEMPOTENCY_REDIS_WRITE_DROPPED, idempotencyKey);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    private <T> T fromJson(String json, TypeReference<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * A stored response with the fingerprint of the request that produced it, as kept in the cache and in Redis.
+     */
+    record StoredResponse(String fingerprint, ApiResponse<Object> response) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.service.ITransactionForwarder;
+import com.example.security.service.ITransactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.spec.InvalidKeySpecException;
+
+/**
+ * Forwarder that hands the encrypted batch straight to {@link ITransactionService#createTransaction}
+ * in the same JVM. The batch still crosses the encrypt/decrypt boundary, only the HTTP hop is removed.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transaction.forwarder.mode", havingValue = "in-process", matchIfMissing = true)
+public class InProcessTransactionForwarder implements ITransactionForwarder {
+
+    private final ITransactionService transactionService;
+
+    /**
+     * Create the transaction records directly through the transaction service.
+     *
+     * @param listTransactionRequest the encrypted list transaction request
+     * @param idempotencyKey the Idempotency-Key of the submission with its request fingerprint, or null
+     * @return ApiResponse containing the created transaction records
+     */
+    @Override
+    public ApiResponse<Object> forward(ListTransactionRequest listTransactionRequest, IdempotencyKey idempotencyKey) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidKeySpecException {
+        return ApiResponse.success(Constant.SUCCESS, transactionService.createTransaction(listTransactionRequest, idempotencyKey));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking database work on the bounded persist executor, so crypto threads and the group committer
+ * only hand work over and never wait for MySQL themselves.
+ * When the executor queue is full, or the executor is shutting down, the returned future fails with
+ * {@link ServiceOverloadedException} (503 with {@code Retry-After}) instead of never completing.
+ */
+@Component
+public class PersistScheduler {
+
+    private final ExecutorService persistExecutor;
+
+    private final Counter rejected;
+
+    @Value("${transaction.persist.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    public PersistScheduler(@Qualifier("persistExecutor") ExecutorService persistExecutor, MeterRegistry meterRegistry) {
+        this.persistExecutor = persistExecutor;
+        this.rejected = Counter.builder("transaction.persist.rejected")
+                .description("Database tasks rejected because the persist executor queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedule a database task. Safe to call from completion callbacks: it never blocks and never throws.
+     *
+     * @param task the task
+     * @return the future result of the task, failed with {@link ServiceOverloadedException} if it was rejected
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, persistExecutor);
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new ServiceOverloadedException(Constant.PERSIST_EXECUTOR_SATURATED, retryAfterSeconds));
+        }
+    }
+
+    /**
+     * Let commits already queued finish before the data source closes.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        persistExecutor.shutdown();
+        persistExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
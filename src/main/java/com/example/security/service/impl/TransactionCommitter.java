@@ -0,0 +1,289 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.dto.response.TransactionResponse;
+import com.example.security.enity.Transaction;
+import com.example.security.exception.ServiceOverloadedException;
+import com.example.security.mapper.TransactionMapper;
+import com.example.security.service.IIdempotencyService;
+import com.example.security.util.TransferMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Commits the legs of one transfer together with its balance updates and idempotency record.
+ * <p>
+ * With {@code transaction.group-commit.enabled}, concurrent callers are coalesced: a single committer
+ * thread collects pending transfers for up to {@code max-delay-ms} or {@code max-batch-size} transfers,
+ * writes them all in one transaction (one batched insert, one commit) and completes each caller on its
+ * own. If the group fails, every transfer is retried in its own transaction so one bad transfer does
+ * not fail the others. {@link #commit} waits at most {@code timeout-ms} for its group and then fails with
+ * {@link ServiceOverloadedException}; the transfer may still commit, so clients retry with the same
+ * Idempotency-Key.
+ * <p>
+ * {@link #commitAsync} does not block the caller: group commits complete on the committer thread, single
+ * commits run on the {@link PersistScheduler}. When its bounded queue is full the commit fails with
+ * {@link ServiceOverloadedException}, so crypto threads never run MySQL work themselves. Waiting for a group
+ * has the same {@code timeout-ms} deadline as {@link #commit}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionCommitter {
+
+    private final TransactionWriter transactionWriter;
+
+    private final TransactionMapper transactionMapper;
+
+    private final IIdempotencyService idempotencyService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TransferMetrics transferMetrics;
+
+    private final MeterRegistry meterRegistry;
+
+    private final PersistScheduler persistScheduler;
+
+    @Value("${transaction.group-commit.enabled:false}")
+    private boolean groupCommitEnabled;
+
+    @Value("${transaction.group-commit.max-delay-ms:5}")
+    private long maxDelayMs;
+
+    @Value("${transaction.group-commit.max-batch-size:200}")
+    private int maxBatchSize;
+
+    @Value("${transaction.group-commit.timeout-ms:10000}")
+    private long commitTimeoutMs;
+
+    @Value("${transaction.persist.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private final BlockingQueue<PendingCommit> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * Guards {@link #running} against enqueues, so nothing is queued after the committer was told to stop.
+     */
+    private final Object handoff = new Object();
+
+    private DistributionSummary groupSize;
+
+    private Thread committer;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() {
+        if (!groupCommitEnabled) {
+            return;
+        }
+        groupSize = DistributionSummary.builder("transaction.group_commit.size")
+                .description("Number of transfers committed together in one transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("transaction.group_commit.pending", queue, BlockingQueue::size)
+                .description("Transfers waiting for the next group commit")
+                .register(meterRegistry);
+        running = true;
+        committer = new Thread(this::run, "group-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Let the committer finish the transfers already queued.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (committer != null) {
+            synchronized (handoff) {
+                running = false;
+            }
+            committer.join(TimeUnit.SECONDS.toMillis(10));
+            if (committer.isAlive()) {
+                log.warn(Constant.GROUP_COMMITTER_STOP_TIMEOUT);
+                committer.interrupt();
+                committer.join(TimeUnit.SECONDS.toMillis(10));
+            }
+            // transfers the committer did not get to before it stopped
+            List<PendingCommit> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            if (!remaining.isEmpty()) {
+                commitGroup(remaining);
+            }
+        }
+    }
+
+    /**
+     * Persist the legs of one transfer, store its idempotency record and return the responses.
+     * Blocks until the transfer is committed, which in group mode includes waiting for the group.
+     * Must not be called inside a transaction that should include the write: the commit is its own.
+     *
+     * @param transactions the legs of one transfer
+     * @param idempotencyKey the Idempotency-Key of the submission with its request fingerprint, or null
+     * @return the responses of the persisted legs
+     * @throws ServiceOverloadedException if the group does not commit within {@code timeout-ms}
+     */
+    public List<TransactionResponse> commit(List<Transaction> transactions, IdempotencyKey idempotencyKey) {
+        PendingCommit pendingCommit = new PendingCommit(transactions, idempotencyKey, new CompletableFuture<>());
+        if (!enqueue(pendingCommit)) {
+            return transactionTemplate.execute(status -> persist(List.of(pendingCommit)).get(0));
+        }
+        try {
+            return pendingCommit.result().get(commitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new ServiceOverloadedException(Constant.GROUP_COMMIT_TIMEOUT, retryAfterSeconds);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Like {@link #commit}, but returns at once with a future that completes when the transfer is committed.
+     *
+     * @param transactions the legs of one transfer
+     * @param idempotencyKey the Idempotency-Key of the submission with its request fingerprint, or null
+     * @return the responses of the persisted legs, failed with {@link ServiceOverloadedException} if the
+     * persist executor queue is full or the group does not commit within {@code timeout-ms}
+     */
+    public CompletableFuture<List<TransactionResponse>> commitAsync(List<Transaction> transactions, IdempotencyKey idempotencyKey) {
+        PendingCommit pendingCommit = new PendingCommit(transactions, idempotencyKey, new CompletableFuture<>());
+        if (enqueue(pendingCommit)) {
+            return pendingCommit.result()
+                    .orTimeout(commitTimeoutMs, TimeUnit.MILLISECONDS)
+                    .exceptionally(ex -> {
+                        if (CryptoScheduler.unwrap(ex) instanceof TimeoutException) {
+                            throw new ServiceOverloadedException(Constant.GROUP_COMMIT_TIMEOUT, retryAfterSeconds);
+                        }
+                        throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+                    });
+        }
+        return persistScheduler.submit(() -> transactionTemplate.execute(status -> persist(List.of(pendingCommit)).get(0)));
+    }
+
+    /**
+     * Queue a transfer for the committer unless it is stopping.
+     *
+     * @return false if the caller has to commit the transfer itself
+     */
+    private boolean enqueue(PendingCommit pendingCommit) {
+        synchronized (handoff) {
+            if (!running) {
+                return false;
+            }
+            queue.add(pendingCommit);
+            return true;
+        }
+    }
+
+    private void run() {
+        List<PendingCommit> group = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingCommit first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+                while (group.size() < maxBatchSize) {
+                    PendingCommit next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                    queue.drainTo(group, maxBatchSize - group.size());
+                }
+                commitGroup(group);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                group.forEach(pendingCommit -> pendingCommit.result().completeExceptionally(ex));
+                return;
+            } catch (Throwable ex) {
+                // keep committing later groups; transfers already completed ignore this
+                log.error(Constant.GROUP_COMMIT_ABORTED, group.size(), ex.getMessage(), ex);
+                group.forEach(pendingCommit -> pendingCommit.result().completeExceptionally(ex));
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void commitGroup(List<PendingCommit> group) {
+        groupSize.record(group.size());
+        try {
+            List<List<TransactionResponse>> responses = transactionTemplate.execute(status -> persist(group));
+            for (int i = 0; i < group.size(); i++) {
+                group.get(i).result().complete(responses.get(i));
+            }
+        } catch (RuntimeException ex) {
+            if (group.size() == 1) {
+                group.get(0).result().completeExceptionally(ex);
+                return;
+            }
+            log.warn(Constant.GROUP_COMMIT_FAILED, group.size(), ex.getMessage());
+            for (PendingCommit pendingCommit : group) {
+                pendingCommit.transactions().forEach(transaction -> transaction.setId(null));
+                try {
+                    pendingCommit.result().complete(transactionTemplate.execute(status -> persist(List.of(pendingCommit)).get(0)));
+                } catch (RuntimeException single) {
+                    pendingCommit.result().completeExceptionally(single);
+                }
+            }
+        }
+    }
+
+    /**
+     * Write all legs of the given transfers with one insert batch and one set of balance updates,
+     * then map and record the response of each transfer. Runs inside the caller's transaction.
+     */
+    private List<List<TransactionResponse>> persist(List<PendingCommit> pendingCommits) {
+        transactionWriter.write(pendingCommits.stream().flatMap(pendingCommit -> pendingCommit.transactions().stream()).toList());
+        List<List<TransactionResponse>> responses = new ArrayList<>(pendingCommits.size());
+        for (PendingCommit pendingCommit : pendingCommits) {
+            Timer.Sample mappingSample = transferMetrics.start();
+            List<TransactionResponse> transactionResponses = pendingCommit.transactions().stream().map(transactionMapper::toResponse).toList();
+            transferMetrics.stop(mappingSample, Constant.STAGE_RESPONSE_MAPPING);
+            if (pendingCommit.idempotencyKey() != null) {
+                idempotencyService.record(pendingCommit.idempotencyKey(), ApiResponse.success(Constant.SUCCESS, transactionResponses));
+            }
+            responses.add(transactionResponses);
+        }
+        return responses;
+    }
+
+    private record PendingCommit(List<Transaction> transactions, IdempotencyKey idempotencyKey,
+                                 CompletableFuture<List<TransactionResponse>> result) {
+    }
+}
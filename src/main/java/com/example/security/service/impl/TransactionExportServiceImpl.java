@@ -0,0 +1,132 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.response.TransactionResponse;
+import com.example.security.enity.Transaction;
+import com.example.security.exception.BadRequestException;
+import com.example.security.repository.TransactionRepository;
+import com.example.security.service.ITransactionExportService;
+import com.example.security.util.AesUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service implementation for the streaming transaction export.
+ * Rows are read through a forward-only JDBC cursor, detached from the persistence context
+ * and written one by one, so memory use stays constant whatever the table size.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionExportServiceImpl implements ITransactionExportService {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final TransactionRepository transactionRepository;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${transaction.export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    /**
+     * Stream transactions with an id greater than {@code afterId}, in id order, to the given output.
+     *
+     * @param format the output format, {@code ndjson} or {@code csv}
+     * @param afterId the exclusive lower id bound, 0 to start from the beginning
+     * @param limit the maximum number of rows to write, 0 for no limit
+     * @param outputStream the destination, left open
+     * @throws IOException if writing to the output fails
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(String format, long afterId, long limit, OutputStream outputStream) throws IOException {
+        boolean csv = Constant.EXPORT_FORMAT_CSV.equalsIgnoreCase(format);
+        if (!csv && !Constant.EXPORT_FORMAT_NDJSON.equalsIgnoreCase(format)) {
+            throw new BadRequestException(Constant.UNSUPPORTED_EXPORT_FORMAT + format);
+        }
+        try (Stream<Transaction> transactions = transactionRepository.streamAfter(afterId, fetchSize)) {
+            Stream<TransactionResponse> rows = transactions.map(this::toExportRow);
+            if (limit > 0) {
+                rows = rows.limit(limit);
+            }
+            if (csv) {
+                writeCsv(rows.iterator(), outputStream);
+            } else {
+                writeNdjson(rows.iterator(), outputStream);
+            }
+        }
+    }
+
+    private TransactionResponse toExportRow(Transaction transaction) {
+        try {
+            return new TransactionResponse(
+                    transaction.getId(),
+                    transaction.getTransactionID(),
+                    AesUtil.decrypt(transaction.getAccount()),
+                    transaction.getInDebt(),
+                    transaction.getHave(),
+                    transaction.getTime()
+            );
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(Constant.EXPORT_DECRYPT_FAILED + transaction.getId(), ex);
+        }
+    }
+
+    private void writeNdjson(Iterator<TransactionResponse> rows, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<TransactionResponse> rows, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        writer.write(Constant.EXPORT_CSV_HEADER);
+        while (rows.hasNext()) {
+            TransactionResponse row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(csvField(row.getTransactionID()));
+            writer.write(',');
+            writer.write(csvField(row.getAccount()));
+            writer.write(',');
+            writer.write(row.getInDebt().toPlainString());
+            writer.write(',');
+            writer.write(row.getHave().toPlainString());
+            writer.write(',');
+            writer.write(row.getTime().toString());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return Constant.EMPTY_STRING;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
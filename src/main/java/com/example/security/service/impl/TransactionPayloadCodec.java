@@ -0,0 +1,249 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.request.SignedTransactionLeg;
+import com.example.security.dto.request.TransactionPayload;
+import com.example.security.dto.request.TransactionRequest;
+import com.example.security.exception.BadRequestException;
+import com.example.security.util.HybridCryptoUtil;
+import com.example.security.util.RsaKeyProvider;
+import com.example.security.util.RsaUtil;
+import com.example.security.util.SignedBatchEncoding;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SignatureException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Encodes plain transaction legs into the request format selected by {@code transaction.payload-mode}
+ * and decrypts incoming requests of any supported version back into plain legs.
+ * It has no persistence dependencies, so every web stack shares the same wire formats.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionPayloadCodec {
+
+    private static final byte[] HYBRID_ASSOCIATED_DATA = ("v" + Constant.PAYLOAD_VERSION_HYBRID).getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SIGNED_ASSOCIATED_DATA = ("v" + Constant.PAYLOAD_VERSION_SIGNED).getBytes(StandardCharsets.UTF_8);
+    private static final TypeReference<List<TransactionPayload>> TRANSACTION_PAYLOAD_LIST = new TypeReference<>() {
+    };
+
+    private final RsaKeyProvider rsaKeyProvider;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionRequestDecryptor transactionRequestDecryptor;
+
+    private final CryptoScheduler cryptoScheduler;
+
+    @Value("${transaction.payload-mode:hybrid}")
+    private String payloadMode;
+
+    /**
+     * Encode the legs of a transfer. Depending on {@code transaction.payload-mode} they are sealed in one
+     * hybrid AES-GCM payload (default), RSA-encrypted field by field, or sent in clear with an encrypted
+     * account and one signature over the batch.
+     *
+     * @param legs the plain transaction legs
+     * @return the list transaction request
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     * @throws NoSuchPaddingException if the padding mechanism is not available
+     * @throws IllegalBlockSizeException if the block size is illegal
+     * @throws BadPaddingException if the padding is incorrect
+     * @throws InvalidKeyException if the key is invalid
+     * @throws InvalidAlgorithmParameterException if the algorithm parameters are invalid
+     */
+    public ListTransactionRequest encode(List<TransactionPayload> legs) throws NoSuchAlgorithmException, NoSuchPaddingException, IllegalBlockSizeException, BadPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
+        if (Constant.PAYLOAD_MODE_PER_FIELD.equalsIgnoreCase(payloadMode)) {
+            return toPerFieldRequest(legs);
+        }
+        if (Constant.PAYLOAD_MODE_SIGNED.equalsIgnoreCase(payloadMode)) {
+            return toSignedRequest(legs);
+        }
+        return toHybridRequest(legs);
+    }
+
+    /**
+     * Decrypt a per-field (version 1), hybrid (version 2) or signed (version 3) request on the crypto executor.
+     * Malformed requests and a full executor queue fail before anything is scheduled.
+     *
+     * @param listTransactionRequest the list transaction request
+     * @return the future plain legs, in request order
+     */
+    public CompletableFuture<List<TransactionPayload>> decryptAsync(ListTransactionRequest listTransactionRequest) {
+        int version = payloadVersion(listTransactionRequest);
+        PrivateKey privateKey = rsaKeyProvider.getPrivateKey();
+        return switch (version) {
+            case Constant.PAYLOAD_VERSION_HYBRID -> cryptoScheduler.submit(() -> decryptHybridRequest(listTransactionRequest, privateKey));
+            case Constant.PAYLOAD_VERSION_SIGNED -> cryptoScheduler.submit(() -> decryptSignedRequest(listTransactionRequest, privateKey));
+            default -> decryptPerFieldRequest(listTransactionRequest, privateKey);
+        };
+    }
+
+    private ListTransactionRequest toPerFieldRequest(List<TransactionPayload> legs) throws NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException {
+        PublicKey publicKey = rsaKeyProvider.getPublicKey();
+        List<TransactionRequest> transactionRequests = new ArrayList<>();
+        for (TransactionPayload leg : legs) {
+            TransactionRequest transactionRequest = new TransactionRequest();
+            transactionRequest.setTransactionID(RsaUtil.encryptToBytes(leg.getTransactionID(), publicKey));
+            transactionRequest.setAccount(RsaUtil.encryptToBytes(leg.getAccount(), publicKey));
+            transactionRequest.setInDebt(RsaUtil.encryptToBytes(leg.getInDebt(), publicKey));
+            transactionRequest.setHave(RsaUtil.encryptToBytes(leg.getHave(), publicKey));
+            transactionRequest.setTime(RsaUtil.encryptToBytes(leg.getTime(), publicKey));
+            transactionRequests.add(transactionRequest);
+        }
+        return new ListTransactionRequest(transactionRequests);
+    }
+
+    private ListTransactionRequest toHybridRequest(List<TransactionPayload> legs) throws NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
+        byte[] plainPayload;
+        try {
+            plainPayload = objectMapper.writeValueAsBytes(legs);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+        SecretKey dataKey = HybridCryptoUtil.generateDataKey();
+        byte[] iv = HybridCryptoUtil.generateIv();
+        byte[] encryptedPayload = HybridCryptoUtil.encrypt(plainPayload, dataKey, iv, HYBRID_ASSOCIATED_DATA);
+        ListTransactionRequest listTransactionRequest = new ListTransactionRequest();
+        listTransactionRequest.setVersion(Constant.PAYLOAD_VERSION_HYBRID);
+        listTransactionRequest.setEncryptedKey(RsaUtil.wrapKeyToBytes(dataKey, rsaKeyProvider.getPublicKey()));
+        listTransactionRequest.setIv(iv);
+        listTransactionRequest.setPayload(encryptedPayload);
+        return listTransactionRequest;
+    }
+
+    /**
+     * Send the legs in clear except for the accounts, which are AES-GCM encrypted under one RSA-wrapped
+     * data key, and sign the canonical encoding of the batch: one private-key operation per transfer on
+     * each side instead of one per field.
+     */
+    private ListTransactionRequest toSignedRequest(List<TransactionPayload> legs) throws NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
+        SecretKey dataKey = HybridCryptoUtil.generateDataKey();
+        List<SignedTransactionLeg> signedLegs = new ArrayList<>(legs.size());
+        for (TransactionPayload leg : legs) {
+            byte[] account = HybridCryptoUtil.seal(leg.getAccount().getBytes(StandardCharsets.UTF_8), dataKey, SIGNED_ASSOCIATED_DATA);
+            signedLegs.add(new SignedTransactionLeg(leg.getTransactionID(), account, leg.getInDebt(), leg.getHave(), leg.getTime()));
+        }
+        ListTransactionRequest listTransactionRequest = new ListTransactionRequest();
+        listTransactionRequest.setVersion(Constant.PAYLOAD_VERSION_SIGNED);
+        listTransactionRequest.setEncryptedKey(RsaUtil.wrapKeyToBytes(dataKey, rsaKeyProvider.getPublicKey()));
+        listTransactionRequest.setLegs(signedLegs);
+        byte[] canonicalBytes = SignedBatchEncoding.encode(Constant.PAYLOAD_VERSION_SIGNED, listTransactionRequest.getEncryptedKey(), signedLegs);
+        try {
+            listTransactionRequest.setSignature(RsaUtil.signToBytes(canonicalBytes, rsaKeyProvider.getPrivateKey()));
+        } catch (SignatureException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+        return listTransactionRequest;
+    }
+
+    private int payloadVersion(ListTransactionRequest listTransactionRequest) {
+        Integer version = listTransactionRequest.getVersion();
+        if (version == null || version == Constant.PAYLOAD_VERSION_PER_FIELD) {
+            return Constant.PAYLOAD_VERSION_PER_FIELD;
+        }
+        if (version == Constant.PAYLOAD_VERSION_HYBRID || version == Constant.PAYLOAD_VERSION_SIGNED) {
+            return version;
+        }
+        throw new BadRequestException(Constant.UNSUPPORTED_PAYLOAD_VERSION + version);
+    }
+
+    private CompletableFuture<List<TransactionPayload>> decryptPerFieldRequest(ListTransactionRequest listTransactionRequest, PrivateKey privateKey) {
+        if (listTransactionRequest.getTransactionRequests() == null || listTransactionRequest.getTransactionRequests().isEmpty()) {
+            throw new BadRequestException(Constant.TRANSACTION_REQUESTS_REQUIRED);
+        }
+        return transactionRequestDecryptor.decryptAsync(listTransactionRequest.getTransactionRequests(), privateKey);
+    }
+
+    private List<TransactionPayload> decryptHybridRequest(ListTransactionRequest listTransactionRequest, PrivateKey privateKey) throws NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
+        if (isEmpty(listTransactionRequest.getEncryptedKey()) || isEmpty(listTransactionRequest.getIv()) || isEmpty(listTransactionRequest.getPayload())) {
+            throw new BadRequestException(Constant.HYBRID_PAYLOAD_REQUIRED);
+        }
+        SecretKey dataKey = RsaUtil.unwrapKey(listTransactionRequest.getEncryptedKey(), privateKey, Constant.AES);
+        byte[] plainPayload = HybridCryptoUtil.decrypt(
+                listTransactionRequest.getPayload(),
+                dataKey,
+                listTransactionRequest.getIv(),
+                HYBRID_ASSOCIATED_DATA
+        );
+        try {
+            List<TransactionPayload> legs = objectMapper.readValue(plainPayload, TRANSACTION_PAYLOAD_LIST);
+            if (legs == null || legs.isEmpty()) {
+                throw new BadRequestException(Constant.TRANSACTION_REQUESTS_REQUIRED);
+            }
+            for (TransactionPayload leg : legs) {
+                if (leg == null || isBlank(leg.getTransactionID()) || isBlank(leg.getAccount()) || isBlank(leg.getInDebt())
+                        || isBlank(leg.getHave()) || isBlank(leg.getTime())) {
+                    throw new BadRequestException(Constant.HYBRID_LEG_FIELDS_REQUIRED);
+                }
+            }
+            return legs;
+        } catch (IOException ex) {
+            throw new BadRequestException(Constant.INVALID_HYBRID_PAYLOAD);
+        }
+    }
+
+    /**
+     * Verify the batch signature with the public key before spending the private-key operation on the
+     * data key, then decrypt the accounts. Any change to a clear field, an account or the wrapped key
+     * fails the signature.
+     */
+    private List<TransactionPayload> decryptSignedRequest(ListTransactionRequest listTransactionRequest, PrivateKey privateKey) throws NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
+        List<SignedTransactionLeg> signedLegs = listTransactionRequest.getLegs();
+        if (isEmpty(listTransactionRequest.getEncryptedKey()) || signedLegs == null || signedLegs.isEmpty() || isEmpty(listTransactionRequest.getSignature())) {
+            throw new BadRequestException(Constant.SIGNED_PAYLOAD_REQUIRED);
+        }
+        for (SignedTransactionLeg leg : signedLegs) {
+            if (leg == null || isBlank(leg.getTransactionID()) || isEmpty(leg.getAccount()) || isBlank(leg.getInDebt())
+                    || isBlank(leg.getHave()) || isBlank(leg.getTime())) {
+                throw new BadRequestException(Constant.SIGNED_LEG_FIELDS_REQUIRED);
+            }
+        }
+        byte[] canonicalBytes = SignedBatchEncoding.encode(Constant.PAYLOAD_VERSION_SIGNED, listTransactionRequest.getEncryptedKey(), signedLegs);
+        boolean valid;
+        try {
+            valid = RsaUtil.verifyBytes(canonicalBytes, listTransactionRequest.getSignature(), rsaKeyProvider.getPublicKey());
+        } catch (SignatureException ex) {
+            valid = false;
+        }
+        if (!valid) {
+            throw new BadRequestException(Constant.INVALID_BATCH_SIGNATURE);
+        }
+
+        SecretKey dataKey = RsaUtil.unwrapKey(listTransactionRequest.getEncryptedKey(), privateKey, Constant.AES);
+        List<TransactionPayload> legs = new ArrayList<>(signedLegs.size());
+        for (SignedTransactionLeg leg : signedLegs) {
+            String account = new String(HybridCryptoUtil.open(leg.getAccount(), dataKey, SIGNED_ASSOCIATED_DATA), StandardCharsets.UTF_8);
+            legs.add(new TransactionPayload(leg.getTransactionID(), account, leg.getInDebt(), leg.getHave(), leg.getTime()));
+        }
+        return legs;
+    }
+
+    private static boolean isEmpty(byte[] value) {
+        return value == null || value.length == 0;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.security.service.impl;
+
+import com.example.security.dto.request.TransactionPayload;
+import com.example.security.dto.request.TransactionRequest;
+import com.example.security.util.RsaUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decrypts the RSA-encrypted fields of per-field transaction requests on the crypto executor.
+ * In parallel mode every field of every leg is decrypted as its own task; otherwise one task decrypts
+ * all fields in turn. Results keep the request order and the first failure cancels the remaining work.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionRequestDecryptor {
+
+    private static final int FIELDS_PER_REQUEST = 5;
+
+    private final CryptoScheduler cryptoScheduler;
+
+    @Value("${transaction.decrypt.parallel.enabled:true}")
+    private boolean parallelEnabled;
+
+    /**
+     * Decrypt all fields of the given transaction requests and wait for the result.
+     *
+     * @param transactionRequests the per-field encrypted transaction requests
+     * @param privateKey the RSA private key
+     * @return the decrypted legs, in request order
+     * @throws NoSuchPaddingException if the padding mechanism is not available
+     * @throws IllegalBlockSizeException if the block size is illegal
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     * @throws BadPaddingException if the padding is incorrect
+     * @throws InvalidKeyException if the key is invalid
+     * @throws InvalidAlgorithmParameterException if the algorithm parameters are invalid
+     */
+    public List<TransactionPayload> decrypt(List<TransactionRequest> transactionRequests, PrivateKey privateKey) throws NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
+        return CryptoScheduler.await(decryptAsync(transactionRequests, privateKey));
+    }
+
+    /**
+     * Decrypt all fields of the given transaction requests without blocking the caller.
+     *
+     * @param transactionRequests the per-field encrypted transaction requests
+     * @param privateKey the RSA private key
+     * @return the decrypted legs, in request order
+     * @throws com.example.security.exception.ServiceOverloadedException if the crypto executor queue is full
+     */
+    public CompletableFuture<List<TransactionPayload>> decryptAsync(List<TransactionRequest> transactionRequests, PrivateKey privateKey) {
+        if (!parallelEnabled) {
+            return cryptoScheduler.submit(() -> decryptSequentially(transactionRequests, privateKey));
+        }
+        List<CompletableFuture<String>> fields = new ArrayList<>(transactionRequests.size() * FIELDS_PER_REQUEST);
+        try {
+            for (TransactionRequest transactionRequest : transactionRequests) {
+                fields.add(decryptAsync(transactionRequest.getTransactionID(), privateKey));
+                fields.add(decryptAsync(transactionRequest.getAccount(), privateKey));
+                fields.add(decryptAsync(transactionRequest.getInDebt(), privateKey));
+                fields.add(decryptAsync(transactionRequest.getHave(), privateKey));
+                fields.add(decryptAsync(transactionRequest.getTime(), privateKey));
+            }
+        } catch (RuntimeException ex) {
+            fields.forEach(field -> field.cancel(false));
+            throw ex;
+        }
+        return allOrFirstFailure(fields).thenApply(ignored -> {
+            List<TransactionPayload> legs = new ArrayList<>(transactionRequests.size());
+            for (int i = 0; i < fields.size(); i += FIELDS_PER_REQUEST) {
+                legs.add(new TransactionPayload(
+                        fields.get(i).join(),
+                        fields.get(i + 1).join(),
+                        fields.get(i + 2).join(),
+                        fields.get(i + 3).join(),
+                        fields.get(i + 4).join()
+                ));
+            }
+            return legs;
+        });
+    }
+
+    private List<TransactionPayload> decryptSequentially(List<TransactionRequest> transactionRequests, PrivateKey privateKey) throws NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException {
+        List<TransactionPayload> legs = new ArrayList<>(transactionRequests.size());
+        for (TransactionRequest transactionRequest : transactionRequests) {
+            legs.add(new TransactionPayload(
+                    RsaUtil.decrypt(transactionRequest.getTransactionID(), privateKey),
+                    RsaUtil.decrypt(transactionRequest.getAccount(), privateKey),
+                    RsaUtil.decrypt(transactionRequest.getInDebt(), privateKey),
+                    RsaUtil.decrypt(transactionRequest.getHave(), privateKey),
+                    RsaUtil.decrypt(transactionRequest.getTime(), privateKey)
+            ));
+        }
+        return legs;
+    }
+
+    private CompletableFuture<String> decryptAsync(byte[] encryptedBytes, PrivateKey privateKey) {
+        return cryptoScheduler.submit(() -> RsaUtil.decrypt(encryptedBytes, privateKey));
+    }
+
+    /**
+     * Completes when every field is decrypted or as soon as the first one fails. On failure the
+     * pending fields are cancelled, so queued decryptions of a failed request are skipped.
+     */
+    private static CompletableFuture<Void> allOrFirstFailure(List<CompletableFuture<String>> fields) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        fields.forEach(field -> field.whenComplete((value, ex) -> {
+            if (ex != null && result.completeExceptionally(ex)) {
+                fields.forEach(pending -> pending.cancel(false));
+            }
+        }));
+        CompletableFuture.allOf(fields.toArray(CompletableFuture[]::new)).thenRun(() -> result.complete(null));
+        return result;
+    }
+}
@@ -1,33 +1,41 @@
 package com.example.security.service.impl;
 
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
 import com.example.security.dto.request.ListTransactionRequest;
-import com.example.security.dto.request.TransactionRequest;
+import com.example.security.dto.request.TransactionPayload;
 import com.example.security.dto.request.TransactionUserRequest;
+import com.example.security.dto.response.TransactionPageResponse;
 import com.example.security.dto.response.TransactionResponse;
 import com.example.security.enity.Transaction;
+import com.example.security.exception.BadRequestException;
+import com.example.security.mapper.TransactionMapper;
 import com.example.security.repository.TransactionRepository;
 import com.example.security.service.ITransactionService;
-import com.example.security.util.AesUtil;
-import com.example.security.util.RsaUtil;
+import com.example.security.util.BlindIndexer;
+import com.example.security.util.TransferMetrics;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
-import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.security.PrivateKey;
-import java.security.PublicKey;
 import java.security.spec.InvalidKeySpecException;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * Service implementation for transaction-related business logic.
@@ -36,16 +44,24 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements ITransactionService {
 
+    private static final String CURSOR_SEPARATOR = "|";
+
     private final TransactionRepository transactionRepository;
 
-    @Value("${RSA_PUBLIC_KEY}")
-    private String publicKeyString;
+    private final TransactionPayloadCodec transactionPayloadCodec;
+
+    private final TransferMetrics transferMetrics;
+
+    private final TransactionMapper transactionMapper;
 
-    @Value("${RSA_PRIVATE_KEY}")
-    private String privateKeyString;
+    private final BlindIndexer blindIndexer;
+
+    private final TransactionCommitter transactionCommitter;
 
     /**
      * Prepare the parameters for creating a transaction.
+     * The legs are encoded in the format selected by {@code transaction.payload-mode},
+     * see {@link TransactionPayloadCodec#encode}.
      *
      * @param transactionUserRequest the transaction decode request data
      * @return the list transaction request with prepared parameters
@@ -53,32 +69,23 @@ public class TransactionServiceImpl implements ITransactionService {
      * @throws InvalidKeySpecException   if the key specification is invalid
      */
     @Override
-    public ListTransactionRequest createListRequest(TransactionUserRequest transactionUserRequest) throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, IllegalBlockSizeException, BadPaddingException, InvalidKeyException {
-        List<TransactionRequest> transactionRequests = new ArrayList<>();
-        PublicKey publicKey = RsaUtil.stringToPublicKey(publicKeyString);
-        String timeNow = LocalDateTime.now().toString();
-        TransactionRequest sendTransaction = new TransactionRequest();
-        sendTransaction.setTransactionID(RsaUtil.encrypt(String.valueOf(UUID.randomUUID()), publicKey));
-        sendTransaction.setAccount(RsaUtil.encrypt(transactionUserRequest.getAccountSender(), publicKey));
-        sendTransaction.setInDebt(RsaUtil.encrypt(transactionUserRequest.getTransferAmount().toPlainString(), publicKey));
-        sendTransaction.setHave(RsaUtil.encrypt(BigDecimal.ZERO.toPlainString(), publicKey));
-        sendTransaction.setTime(RsaUtil.encrypt(timeNow, publicKey));
-        transactionRequests.add(sendTransaction);
-
-        TransactionRequest receiveTransaction = new TransactionRequest();
-        receiveTransaction.setTransactionID(RsaUtil.encrypt(String.valueOf(UUID.randomUUID()), publicKey));
-        receiveTransaction.setAccount(RsaUtil.encrypt(transactionUserRequest.getAccountSender(), publicKey));
-        receiveTransaction.setInDebt(RsaUtil.encrypt(BigDecimal.ZERO.toPlainString(), publicKey));
-        receiveTransaction.setHave(RsaUtil.encrypt(transactionUserRequest.getTransferAmount().toPlainString(), publicKey));
-        receiveTransaction.setTime(RsaUtil.encrypt(timeNow, publicKey));
-        transactionRequests.add(receiveTransaction);
-        return  new ListTransactionRequest(transactionRequests);
+    public ListTransactionRequest createListRequest(TransactionUserRequest transactionUserRequest) throws NoSuchAlgorithmException, InvalidKeySpecException, NoSuchPaddingException, IllegalBlockSizeException, BadPaddingException, InvalidKeyException, InvalidAlgorithmParameterException {
+        List<TransactionPayload> legs = transactionMapper.toLegs(transactionUserRequest, LocalDateTime.now());
+        Timer.Sample encryptSample = transferMetrics.start();
+        ListTransactionRequest listTransactionRequest = transactionPayloadCodec.encode(legs);
+        transferMetrics.stop(encryptSample, Constant.STAGE_RSA_ENCRYPT);
+        return listTransactionRequest;
     }
 
     /**
      * Create and save two transaction records (sender and receiver) and return their responses.
+     * Accepts the per-field (version 1), hybrid (version 2) and signed (version 3) request formats.
+     * With an idempotency key the response is recorded in the same transaction as the legs.
+     * Decryption runs before the database transaction starts, so no connection is held while decrypting;
+     * the commit itself may be shared with concurrent transfers, see {@link TransactionCommitter}.
      *
      * @param listTransactionRequest the lst transaction request data
+     * @param idempotencyKey the Idempotency-Key of the submission with its request fingerprint, or null
      * @return list of transaction responses (sender and receiver)
      * @throws InvalidAlgorithmParameterException if the algorithm parameters are invalid
      * @throws NoSuchPaddingException             if the padding mechanism is not available
@@ -88,39 +95,124 @@ public class TransactionServiceImpl implements ITransactionService {
      * @throws InvalidKeyException                if the key is invalid
      */
     @Override
-    @Transactional
-    public List<TransactionResponse> createTransaction(ListTransactionRequest listTransactionRequest) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidKeySpecException {
-        PrivateKey privateKey = RsaUtil.stringToPrivateKey(privateKeyString);
-        List<Transaction> transactions = new ArrayList<>();
-        for (TransactionRequest transactionRequest : listTransactionRequest.getTransactionRequests()) {
-            String decryptedTransactionID = RsaUtil.decrypt(transactionRequest.getTransactionID(), privateKey);
-            String decryptedInDebt = RsaUtil.decrypt(transactionRequest.getInDebt(), privateKey);
-            String decryptedHave = RsaUtil.decrypt(transactionRequest.getHave(), privateKey);
-            String decryptedAccount = RsaUtil.decrypt(transactionRequest.getAccount(), privateKey);
-            String decryptedTime = RsaUtil.decrypt(transactionRequest.getTime(), privateKey);
-            Transaction transaction = new Transaction();
-            transaction.setTransactionID(decryptedTransactionID);
-            transaction.setAccount(AesUtil.encrypt(decryptedAccount));
-            transaction.setInDebt(new BigDecimal(decryptedInDebt));
-            transaction.setHave(new BigDecimal(decryptedHave));
-            transaction.setTime(LocalDateTime.parse(decryptedTime));
-            transactions.add(transaction);
+    public List<TransactionResponse> createTransaction(ListTransactionRequest listTransactionRequest, IdempotencyKey idempotencyKey) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException, InvalidKeySpecException {
+        List<Transaction> transactions = decryptTransactions(listTransactionRequest);
+
+        Timer.Sample persistSample = transferMetrics.start();
+        List<TransactionResponse> transactionResponses = transactionCommitter.commit(transactions, idempotencyKey);
+        transferMetrics.stop(persistSample, Constant.STAGE_PERSIST);
+        return transactionResponses;
+    }
+
+    /**
+     * Create and save the transaction records without blocking the caller. Decryption and the AES
+     * encryption of the accounts run on the crypto executor, the commit on the committer's threads.
+     *
+     * @param listTransactionRequest the list transaction request data
+     * @param idempotencyKey the Idempotency-Key of the submission with its request fingerprint, or null
+     * @return the future list of transaction responses (sender and receiver)
+     */
+    @Override
+    public CompletableFuture<List<TransactionResponse>> createTransactionAsync(ListTransactionRequest listTransactionRequest, IdempotencyKey idempotencyKey) {
+        return decryptTransactionsAsync(listTransactionRequest).thenCompose(transactions -> {
+            Timer.Sample persistSample = transferMetrics.start();
+            return transactionCommitter.commitAsync(transactions, idempotencyKey)
+                    .whenComplete((transactionResponses, ex) -> transferMetrics.stop(persistSample, Constant.STAGE_PERSIST));
+        });
+    }
+
+    /**
+     * Decrypt a transfer batch and map its legs to entities ready to be persisted, without writing them.
+     *
+     * @param listTransactionRequest the list transaction request data
+     * @return the transaction entities, with the account encrypted for storage
+     * @throws InvalidAlgorithmParameterException if the algorithm parameters are invalid
+     * @throws NoSuchPaddingException             if the padding mechanism is not available
+     * @throws IllegalBlockSizeException          if the block size is illegal
+     * @throws NoSuchAlgorithmException           if the algorithm is not available
+     * @throws BadPaddingException                if the padding is incorrect
+     * @throws InvalidKeyException                if the key is invalid
+     */
+    @Override
+    public List<Transaction> decryptTransactions(ListTransactionRequest listTransactionRequest) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException {
+        return CryptoScheduler.await(decryptTransactionsAsync(listTransactionRequest));
+    }
+
+    /**
+     * Decrypt a transfer batch and map its legs to entities on the crypto executor.
+     * Malformed requests and a full executor queue fail before anything is scheduled.
+     */
+    private CompletableFuture<List<Transaction>> decryptTransactionsAsync(ListTransactionRequest listTransactionRequest) {
+        Timer.Sample decryptSample = transferMetrics.start();
+        return transactionPayloadCodec.decryptAsync(listTransactionRequest).thenApply(decryptedLegs -> {
+            transferMetrics.stop(decryptSample, Constant.STAGE_RSA_DECRYPT);
+            Timer.Sample encryptSample = transferMetrics.start();
+            try {
+                List<Transaction> transactions = transactionMapper.toEntities(decryptedLegs);
+                transferMetrics.stop(encryptSample, Constant.STAGE_AES_ENCRYPT);
+                return transactions;
+            } catch (GeneralSecurityException ex) {
+                throw new CompletionException(ex);
+            }
+        });
+    }
+
+    /**
+     * Find the transaction history of an account, newest first, using keyset pagination.
+     * The account is looked up through its blind index, so the query is an index seek on
+     * (account_index, transaction_time, id) and never decrypts stored rows.
+     *
+     * @param account the plain account number
+     * @param cursor the cursor returned with the previous page, or null for the first page
+     * @param size the page size
+     * @return the page of transactions and the cursor of the next page
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionPageResponse findByAccount(String account, String cursor, int size) throws NoSuchAlgorithmException, InvalidKeyException {
+        if (isBlank(account)) {
+            throw new BadRequestException(Constant.ACCOUNT_REQUIRED);
+        }
+        if (size < 1 || size > Constant.MAX_PAGE_SIZE) {
+            throw new BadRequestException(Constant.INVALID_PAGE_SIZE + Constant.MAX_PAGE_SIZE);
+        }
+        String accountIndex = blindIndexer.index(account);
+        Pageable pageable = PageRequest.of(0, size + 1);
+        List<Transaction> transactions;
+        if (isBlank(cursor)) {
+            transactions = transactionRepository.findHistoryFirstPage(accountIndex, pageable);
+        } else {
+            HistoryCursor historyCursor = decodeCursor(cursor);
+            transactions = transactionRepository.findHistoryPageAfter(accountIndex, historyCursor.time(), historyCursor.id(), pageable);
         }
-        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
 
-        return savedTransactions.stream().map(this::toTransactionResponse).toList();
+        String nextCursor = null;
+        if (transactions.size() > size) {
+            transactions = transactions.subList(0, size);
+            nextCursor = encodeCursor(transactions.get(size - 1));
+        }
+        return new TransactionPageResponse(transactions.stream().map(transactionMapper::toResponse).toList(), nextCursor);
     }
 
-    private TransactionResponse toTransactionResponse(Transaction transaction) {
-        return new TransactionResponse(
-                transaction.getId(),
-                transaction.getTransactionID(),
-                transaction.getAccount(),
-                transaction.getInDebt(),
-                transaction.getHave(),
-                transaction.getTime()
-        );
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static String encodeCursor(Transaction transaction) {
+        String value = transaction.getTime() + CURSOR_SEPARATOR + transaction.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
     }
-}
 
+    private static HistoryCursor decodeCursor(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(CURSOR_SEPARATOR);
+            return new HistoryCursor(LocalDateTime.parse(value.substring(0, separator)), Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new BadRequestException(Constant.INVALID_CURSOR);
+        }
+    }
 
+    private record HistoryCursor(LocalDateTime time, Long id) {
+    }
+}
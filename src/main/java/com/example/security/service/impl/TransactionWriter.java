@@ -0,0 +1,37 @@
+package com.example.security.service.impl;
+
+import com.example.security.enity.Transaction;
+import com.example.security.repository.TransactionRepository;
+import com.example.security.service.IAccountBalanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Persists transaction legs together with their balance updates.
+ * Every write path goes through here so the balance projection never drifts from the ledger.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransactionWriter {
+
+    private final TransactionRepository transactionRepository;
+
+    private final IAccountBalanceService accountBalanceService;
+
+    /**
+     * Insert the legs and apply them to the account balances in the caller's database transaction.
+     *
+     * @param transactions the transaction legs to persist
+     * @return the persisted legs
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Transaction> write(List<Transaction> transactions) {
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+        accountBalanceService.applyTransactions(savedTransactions);
+        return savedTransactions;
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.response.TransferTicketResponse;
+import com.example.security.enity.Transaction;
+import com.example.security.exception.NotFoundException;
+import com.example.security.exception.ServiceOverloadedException;
+import com.example.security.repository.TransactionRepository;
+import com.example.security.service.ITransactionService;
+import com.example.security.service.IWriteBehindService;
+import com.example.security.util.TimeOrderedIds;
+import com.example.security.util.TransferMetrics;
+import com.example.security.util.WriteAheadLog;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.BadPaddingException;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Write-behind ingest: decrypted batches are appended to a memory-mapped write-ahead log and
+ * acknowledged with a ticket, then a single drainer thread writes them to the database in
+ * batches, one transaction (one commit) per batch, and advances the log checkpoint.
+ * <p>
+ * On startup every log entry after the checkpoint is replayed. Legs whose transaction id is
+ * already stored (committed before the crash, but not checkpointed) are skipped, so a replay
+ * never inserts a leg or applies its balance twice.
+ * <p>
+ * At most {@code transaction.write-behind.max-pending} entries wait for the database. While the database
+ * is down the drainer keeps retrying, and once the limit is reached {@code /submit} answers 503 with
+ * {@code Retry-After} instead of growing the heap and the log without bound.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "transaction.write-behind.enabled", havingValue = "true")
+public class WriteBehindServiceImpl implements IWriteBehindService {
+
+    private final ITransactionService transactionService;
+
+    private final TransactionRepository transactionRepository;
+
+    private final TransactionWriter transactionWriter;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransferMetrics transferMetrics;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${transaction.write-behind.directory:./wal}")
+    private Path directory;
+
+    @Value("${transaction.write-behind.segment-size:67108864}")
+    private int segmentSize;
+
+    @Value("${transaction.write-behind.fsync:true}")
+    private boolean fsync;
+
+    @Value("${transaction.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${transaction.write-behind.retry-delay-ms:1000}")
+    private long retryDelayMs;
+
+    @Value("${transaction.write-behind.ticket-ttl:24h}")
+    private Duration ticketTtl;
+
+    @Value("${transaction.write-behind.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${transaction.write-behind.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private final BlockingQueue<PendingEntry> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * Entries accepted but not yet committed or failed, including the batch the drainer is working on.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private WriteAheadLog writeAheadLog;
+
+    private Cache<Long, TransferTicketResponse> tickets;
+
+    private Thread drainer;
+
+    private volatile boolean running;
+
+    @PostConstruct
+    public void init() throws IOException {
+        tickets = Caffeine.newBuilder().expireAfterWrite(ticketTtl).build();
+        writeAheadLog = new WriteAheadLog(directory, segmentSize, fsync);
+        List<WriteAheadLog.Entry> recoveredEntries = writeAheadLog.recover();
+        if (!recoveredEntries.isEmpty()) {
+            log.info(Constant.WAL_RECOVERED, recoveredEntries.size());
+        }
+        for (WriteAheadLog.Entry entry : recoveredEntries) {
+            try {
+                WalRecord walRecord = objectMapper.readValue(entry.data(), WalRecord.class);
+                tickets.put(walRecord.ticketId(), ticket(walRecord, Constant.TICKET_PENDING, null));
+                // replayed entries are already in the log, so they are queued even beyond the limit
+                pending.incrementAndGet();
+                queue.add(new PendingEntry(walRecord, entry.end(), true));
+            } catch (IOException ex) {
+                log.error(Constant.WAL_CORRUPT_ENTRY, ex.getMessage());
+            }
+        }
+        Gauge.builder("transaction.write_behind.pending", pending, AtomicInteger::get)
+                .description("Write-behind entries waiting to be written to the database")
+                .register(meterRegistry);
+        running = true;
+        drainer = new Thread(this::drain, "wal-drainer");
+        drainer.start();
+    }
+
+    /**
+     * Stop accepting drain work once the queue is empty and close the log.
+     * Entries still queued at shutdown stay in the log and are replayed on the next start.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        drainer.join(TimeUnit.SECONDS.toMillis(30));
+        if (drainer.isAlive()) {
+            // still writing a batch; stop it so it does not checkpoint against a closed log
+            log.warn(Constant.WAL_DRAINER_STOP_TIMEOUT);
+            drainer.interrupt();
+            drainer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        writeAheadLog.close();
+    }
+
+    /**
+     * Decrypt a transfer batch, append it to the write-ahead log and return a pending ticket.
+     *
+     * @param listTransactionRequest the encrypted list transaction request
+     * @return the pending ticket
+     * @throws ServiceOverloadedException if {@code max-pending} entries are already waiting for the database
+     */
+    @Override
+    public TransferTicketResponse submit(ListTransactionRequest listTransactionRequest) throws InvalidAlgorithmParameterException, NoSuchPaddingException, IllegalBlockSizeException, NoSuchAlgorithmException, BadPaddingException, InvalidKeyException {
+        // reserve the slot before decrypting, so a full pipeline costs no RSA work
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new ServiceOverloadedException(Constant.WRITE_BEHIND_SATURATED, retryAfterSeconds);
+        }
+        boolean queued = false;
+        try {
+            List<Transaction> transactions = transactionService.decryptTransactions(listTransactionRequest);
+            WalRecord walRecord = new WalRecord(TimeOrderedIds.nextId(), transactions.stream().map(WalLeg::of).toList());
+            TransferTicketResponse ticket = ticket(walRecord, Constant.TICKET_PENDING, null);
+            tickets.put(walRecord.ticketId(), ticket);
+
+            Timer.Sample appendSample = transferMetrics.start();
+            try {
+                writeAheadLog.append(objectMapper.writeValueAsBytes(walRecord), end -> queue.add(new PendingEntry(walRecord, end, false)));
+                queued = true;
+            } catch (IOException ex) {
+                tickets.invalidate(walRecord.ticketId());
+                throw new UncheckedIOException(Constant.WAL_APPEND_FAILED, ex);
+            }
+            transferMetrics.stop(appendSample, Constant.STAGE_WAL_APPEND);
+            return ticket;
+        } finally {
+            if (!queued) {
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Get the state of a ticket. Tickets are kept in memory for {@code transaction.write-behind.ticket-ttl};
+     * after a restart only the tickets replayed from the log are known.
+     *
+     * @param ticketId the ticket id
+     * @return the ticket state
+     */
+    @Override
+    public TransferTicketResponse getTicket(long ticketId) {
+        TransferTicketResponse ticket = tickets.getIfPresent(ticketId);
+        if (ticket == null) {
+            throw new NotFoundException(Constant.TICKET_NOT_FOUND + ticketId);
+        }
+        return ticket;
+    }
+
+    private void drain() {
+        List<PendingEntry> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    PendingEntry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                }
+                Timer.Sample drainSample = transferMetrics.start();
+                persistBatch(batch);
+                transferMetrics.stop(drainSample, Constant.STAGE_WAL_DRAIN);
+                checkpoint(batch.get(batch.size() - 1).end());
+                batch.clear();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                if (!isRetryable(ex)) {
+                    // not about the database being reachable: retrying would block the pipeline forever
+                    log.error(Constant.WAL_BATCH_ABORTED, batch.size(), ex.getMessage(), ex);
+                    batch.forEach(pendingEntry -> complete(pendingEntry, Constant.TICKET_FAILED, ex.getMessage()));
+                    checkpoint(batch.get(batch.size() - 1).end());
+                    batch.clear();
+                    continue;
+                }
+                // the database is unreachable: keep the batch and try again, nothing is lost from the log.
+                // Part of it may have been committed one by one already, so the retry checks for stored legs.
+                log.warn(Constant.WAL_DATABASE_UNAVAILABLE, retryDelayMs, ex.getMessage());
+                batch.replaceAll(PendingEntry::asRetry);
+                if (!running) {
+                    return;
+                }
+                try {
+                    Thread.sleep(retryDelayMs);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Write the whole batch in one transaction. If that fails for any reason other than the database being
+     * unreachable, retry each entry on its own so one bad entry only fails its own ticket. Transient and
+     * connection failures propagate and the batch is retried later.
+     */
+    private void persistBatch(List<PendingEntry> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> transactionWriter.write(
+                    batch.stream().flatMap(pendingEntry -> newLegs(pendingEntry).stream()).toList()));
+            batch.forEach(pendingEntry -> complete(pendingEntry, Constant.TICKET_COMMITTED, null));
+        } catch (RuntimeException ex) {
+            if (isRetryable(ex)) {
+                throw ex;
+            }
+            log.warn(Constant.WAL_BATCH_FAILED, batch.size(), ex.getMessage());
+            // completed entries leave the batch, so a retry after a connection failure completes each entry once;
+            // the last entry always stays, so the checkpoint still reaches the end of the batch
+            Iterator<PendingEntry> iterator = batch.iterator();
+            while (iterator.hasNext()) {
+                PendingEntry pendingEntry = iterator.next();
+                try {
+                    transactionTemplate.executeWithoutResult(status -> transactionWriter.write(newLegs(pendingEntry)));
+                    complete(pendingEntry, Constant.TICKET_COMMITTED, null);
+                } catch (RuntimeException entryException) {
+                    if (isRetryable(entryException)) {
+                        throw entryException;
+                    }
+                    complete(pendingEntry, Constant.TICKET_FAILED, entryException.getMessage());
+                }
+                if (iterator.hasNext()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Failures that may go away by themselves: the database is unreachable, a connection cannot be
+     * obtained, or the statement hit a lock timeout or deadlock.
+     */
+    private static boolean isRetryable(RuntimeException ex) {
+        return ex instanceof TransientDataAccessException
+                || ex instanceof RecoverableDataAccessException
+                || ex instanceof DataAccessResourceFailureException
+                || ex instanceof CannotCreateTransactionException;
+    }
+
+    /**
+     * Build fresh entities for an entry. Replayed and retried entries drop legs that are already stored.
+     */
+    private List<Transaction> newLegs(PendingEntry pendingEntry) {
+        List<WalLeg> legs = pendingEntry.walRecord().legs();
+        Set<String> existingTransactionIds = pendingEntry.replayed()
+                ? new HashSet<>(transactionRepository.findExistingTransactionIds(legs.stream().map(WalLeg::transactionID).toList()))
+                : Set.of();
+        return legs.stream()
+                .filter(leg -> !existingTransactionIds.contains(leg.transactionID()))
+                .map(WalLeg::toEntity)
+                .toList();
+    }
+
+    private void complete(PendingEntry pendingEntry, String status, String error) {
+        tickets.put(pendingEntry.walRecord().ticketId(), ticket(pendingEntry.walRecord(), status, error));
+        pending.decrementAndGet();
+    }
+
+    private void checkpoint(WriteAheadLog.Position position) {
+        try {
+            writeAheadLog.checkpoint(position);
+        } catch (IOException ex) {
+            // entries after the last good checkpoint are replayed and deduplicated on restart
+            log.error(Constant.WAL_CHECKPOINT_FAILED, ex.getMessage());
+        }
+    }
+
+    private static TransferTicketResponse ticket(WalRecord walRecord, String status, String error) {
+        return new TransferTicketResponse(walRecord.ticketId(), status,
+                walRecord.legs().stream().map(WalLeg::transactionID).toList(), error);
+    }
+
+    private record PendingEntry(WalRecord walRecord, WriteAheadLog.Position end, boolean replayed) {
+
+        PendingEntry asRetry() {
+            return new PendingEntry(walRecord, end, true);
+        }
+    }
+
+    /**
+     * One accepted batch as stored in the log. Accounts are stored encrypted, as in the database.
+     */
+    private record WalRecord(long ticketId, List<WalLeg> legs) {
+    }
+
+    private record WalLeg(String transactionID, String account, String accountIndex,
+                          BigDecimal inDebt, BigDecimal have, LocalDateTime time) {
+
+        static WalLeg of(Transaction transaction) {
+            return new WalLeg(transaction.getTransactionID(), transaction.getAccount(), transaction.getAccountIndex(),
+                    transaction.getInDebt(), transaction.getHave(), transaction.getTime());
+        }
+
+        Transaction toEntity() {
+            Transaction transaction = new Transaction();
+            transaction.setTransactionID(transactionID);
+            transaction.setAccount(account);
+            transaction.setAccountIndex(accountIndex);
+            transaction.setInDebt(inDebt);
+            transaction.setHave(have);
+            transaction.setTime(time);
+            return transaction;
+        }
+    }
+}
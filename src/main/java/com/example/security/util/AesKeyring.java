@@ -0,0 +1,150 @@
+package com.example.security.util;
+
+import com.example.security.constant.Constant;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * The versioned AES keys of the stored {@code account} column.
+ * New values are encrypted with the active key and stored with its id as a prefix; the other keys are
+ * kept to read values written before a rotation. Values without a key id were written before key
+ * rotation existed and are read with the legacy key; without an active key, new values are written
+ * with the legacy key too. The empty keyring installed before configuration has no keys at all.
+ */
+public final class AesKeyring {
+
+    private static final Pattern KEY_ID_PATTERN = Pattern.compile("[A-Za-z0-9_-]{1," + Constant.AES_KEY_ID_MAX_LENGTH + "}");
+
+    private static final AesKeyring EMPTY = new AesKeyring(null, null, Map.of());
+
+    private final SecretKeySpec legacyKey;
+
+    private final String activeKeyId;
+
+    private final byte[] activeKeyPrefix;
+
+    private final Map<String, SecretKeySpec> keys;
+
+    private AesKeyring(SecretKeySpec legacyKey, String activeKeyId, Map<String, SecretKeySpec> keys) {
+        this.legacyKey = legacyKey;
+        this.activeKeyId = activeKeyId;
+        this.activeKeyPrefix = activeKeyId == null
+                ? new byte[0]
+                : (activeKeyId + Constant.AES_KEY_ID_SEPARATOR).getBytes(StandardCharsets.US_ASCII);
+        this.keys = keys;
+    }
+
+    /**
+     * Returns the keyring without configured keys, which can neither read nor write values.
+     */
+    public static AesKeyring empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a keyring from the legacy key and Base64-encoded versioned keys.
+     *
+     * @param legacyKey the key of values without key id, as 16, 24 or 32 UTF-8 bytes, or blank if there are none
+     * @param activeKeyId the id of the key used for new values, or blank to write with the legacy key
+     * @param base64Keys the keys by id, each Base64 of 16, 24 or 32 bytes
+     * @return the keyring
+     * @throws IllegalArgumentException if an id or key is malformed, the active key is missing,
+     * or neither a legacy key nor an active key is given
+     */
+    public static AesKeyring of(String legacyKey, String activeKeyId, Map<String, String> base64Keys) {
+        SecretKeySpec legacyKeySpec = null;
+        if (legacyKey != null && !legacyKey.isBlank()) {
+            byte[] key = legacyKey.getBytes(StandardCharsets.UTF_8);
+            if (key.length != 16 && key.length != 24 && key.length != 32) {
+                throw new IllegalArgumentException(Constant.INVALID_AES_LEGACY_KEY);
+            }
+            legacyKeySpec = new SecretKeySpec(key, Constant.AES);
+        }
+        if (activeKeyId == null || activeKeyId.isBlank()) {
+            if (legacyKeySpec == null) {
+                throw new IllegalArgumentException(Constant.AES_KEY_NOT_CONFIGURED);
+            }
+            activeKeyId = null;
+        }
+        Map<String, SecretKeySpec> keys = new LinkedHashMap<>();
+        base64Keys.forEach((keyId, base64Key) -> {
+            if (!KEY_ID_PATTERN.matcher(keyId).matches()) {
+                throw new IllegalArgumentException(Constant.INVALID_AES_KEY_ID + keyId);
+            }
+            if (Constant.AES_MODE_GCM.equals(keyId)) {
+                throw new IllegalArgumentException(Constant.RESERVED_AES_KEY_ID + keyId);
+            }
+            byte[] key;
+            try {
+                key = Base64.getDecoder().decode(base64Key.trim());
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException(Constant.INVALID_AES_KEY + keyId, ex);
+            }
+            if (key.length != 16 && key.length != 24 && key.length != 32) {
+                throw new IllegalArgumentException(Constant.INVALID_AES_KEY + keyId);
+            }
+            keys.put(keyId, new SecretKeySpec(key, Constant.AES));
+        });
+        if (activeKeyId != null && !keys.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException(Constant.AES_ACTIVE_KEY_MISSING + activeKeyId);
+        }
+        return new AesKeyring(legacyKeySpec, activeKeyId, Collections.unmodifiableMap(keys));
+    }
+
+    /**
+     * Returns the id of the key used for new values, or null when new values use the legacy key.
+     */
+    public String getActiveKeyId() {
+        return activeKeyId;
+    }
+
+    /**
+     * Returns the ids of all keys that can be read.
+     */
+    public Set<String> getKeyIds() {
+        return keys.keySet();
+    }
+
+    /**
+     * Returns {@code "<active key id>$"} as US-ASCII bytes, empty for an empty keyring.
+     */
+    byte[] activeKeyPrefix() {
+        return activeKeyPrefix;
+    }
+
+    /**
+     * Get the key of values without key id.
+     *
+     * @return the legacy key
+     * @throws InvalidKeyException if no legacy key is configured
+     */
+    SecretKeySpec legacyKey() throws InvalidKeyException {
+        if (legacyKey == null) {
+            throw new InvalidKeyException(Constant.AES_LEGACY_KEY_MISSING);
+        }
+        return legacyKey;
+    }
+
+    /**
+     * Get a key by id.
+     *
+     * @param keyId the key id
+     * @return the key
+     * @throws InvalidKeyException if the key id is not in the keyring
+     */
+    SecretKeySpec key(String keyId) throws InvalidKeyException {
+        SecretKeySpec key = keys.get(keyId);
+        if (key == null) {
+            throw new InvalidKeyException(Constant.UNKNOWN_AES_KEY_ID + keyId);
+        }
+        return key;
+    }
+}
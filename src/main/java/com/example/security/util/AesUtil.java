@@ -1,38 +1,130 @@
 package com.example.security.util;
 import com.example.security.constant.Constant;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.security.NoSuchAlgorithmException;
-import java.security.SecureRandom;
-import java.util.Base64;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * AES encryption of stored fields, in AES/CBC/PKCS5Padding or authenticated AES/GCM/NoPadding.
+ * <p>
+ * Stored values have the form {@code [<key id>$][gcm$]<Base64>}. The key id selects the key from the
+ * {@link AesKeyring} installed with {@link #useKeyring(AesKeyring)}; values without one were written
+ * before key rotation existed and are read with the legacy key {@code aes.secret-key}. The {@code gcm$} header marks
+ * Base64(nonce + ciphertext + tag) in GCM; without it the Base64 is IV + ciphertext in CBC. Both formats
+ * are always readable, {@link #useMode(String)} only selects the one new values are written in.
+ */
 @Service
 public class AesUtil {
 
-    private static final String SECRET_KEY = "1234567890abcdef"; // 16 byte
+    private static final LongAdder ENCRYPT_COUNT = new LongAdder();
+
+    private static final LongAdder DECRYPT_COUNT = new LongAdder();
+
+    private static final int IV_LENGTH = Constant.SIX_TEEN;
+
+    private static final int BLOCK_SIZE = Constant.SIX_TEEN;
+
+    private static final int GCM_IV_LENGTH = 12;
+
+    private static final int GCM_TAG_LENGTH = Constant.SIX_TEEN;
+
+    private static final byte KEY_ID_SEPARATOR = (byte) Constant.AES_KEY_ID_SEPARATOR;
+
+    private static final String GCM_HEADER = Constant.AES_MODE_GCM + Constant.AES_KEY_ID_SEPARATOR;
+
+    private static final byte[] GCM_HEADER_BYTES = GCM_HEADER.getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Per-thread IV and intermediate buffers, so encrypting and decrypting only allocates the result.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private static volatile WriteFormat writeFormat = new WriteFormat(AesKeyring.empty(), false);
+
+    /**
+     * Install the keyring used for all following operations.
+     *
+     * @param aesKeyring the keyring
+     */
+    public static synchronized void useKeyring(AesKeyring aesKeyring) {
+        writeFormat = new WriteFormat(aesKeyring, writeFormat.gcm());
+    }
+
+    /**
+     * Select the mode new values are written in. Values in the other mode stay readable.
+     *
+     * @param mode {@link Constant#AES_MODE_CBC} or {@link Constant#AES_MODE_GCM}
+     * @throws IllegalArgumentException if the mode is unknown
+     */
+    public static synchronized void useMode(String mode) {
+        boolean gcm = switch (mode) {
+            case Constant.AES_MODE_GCM -> true;
+            case Constant.AES_MODE_CBC -> false;
+            default -> throw new IllegalArgumentException(Constant.INVALID_AES_MODE + mode);
+        };
+        writeFormat = new WriteFormat(writeFormat.keyring(), gcm);
+    }
+
+    /**
+     * Returns the id of the key new values are encrypted with, or null when the legacy key is used.
+     */
+    public static String getActiveKeyId() {
+        return writeFormat.keyring().getActiveKeyId();
+    }
+
+    /**
+     * Returns the mode new values are written in.
+     */
+    public static String getMode() {
+        return writeFormat.gcm() ? Constant.AES_MODE_GCM : Constant.AES_MODE_CBC;
+    }
 
     /**
-     * Create a SecretKeySpec from the SECRET_KEY.
+     * Returns the key id of a stored value.
+     *
+     * @param storedValue a value produced by {@link #encrypt(String)}
+     * @return the key id, or null for a legacy value without one
      */
-    private static SecretKeySpec getSecretKeySpec() {
-        return new SecretKeySpec(SECRET_KEY.getBytes(StandardCharsets.UTF_8), Constant.AES);
+    public static String keyIdOf(String storedValue) {
+        if (storedValue.startsWith(GCM_HEADER)) {
+            return null;
+        }
+        int separator = storedValue.indexOf(Constant.AES_KEY_ID_SEPARATOR);
+        return separator < 0 ? null : storedValue.substring(0, separator);
     }
 
     /**
-     * Encrypts a plain text string using AES/CBC/PKCS5Padding.
+     * Returns whether a stored value was written with another key or mode than new values are.
+     *
+     * @param storedValue a value produced by {@link #encrypt(String)}
+     * @return true if re-encrypting the value would change its key or mode
+     */
+    public static boolean needsReencryption(String storedValue) {
+        String prefix = writeFormat.prefixText();
+        return !storedValue.startsWith(prefix) || storedValue.indexOf(Constant.AES_KEY_ID_SEPARATOR, prefix.length()) >= 0;
+    }
+
+    /**
+     * Encrypts a plain text string with the active key and mode.
      *
      * @param plainText the original string to encrypt
-     * @return the encrypted string encoded in Base64
+     * @return the stored form, the format header and the Base64 of the encrypted bytes
      * @throws InvalidAlgorithmParameterException if the IV is invalid
      * @throws InvalidKeyException if the secret key is invalid
      * @throws NoSuchPaddingException if the padding mechanism is not available
@@ -44,53 +136,472 @@ public class AesUtil {
         if (plainText == null || plainText.isEmpty()) {
             return null;
         }
-
-        // 1. Tạo IV ngẫu nhiên (16 byte)
-        byte[] ivBytes = new byte[Constant.SIX_TEEN];
-        new SecureRandom().nextBytes(ivBytes);
-        IvParameterSpec iv = new IvParameterSpec(ivBytes);
-
-        // 2. Mã hóa dữ liệu
-        Cipher cipher = Cipher.getInstance(Constant.AES_TRANSFORMATION);
-        cipher.init(Cipher.ENCRYPT_MODE, getSecretKeySpec(), iv);
-        byte[] encrypted = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
-
-        // 3. Ghép IV + ciphertext và trả về Base64
-        byte[] combined = new byte[ivBytes.length + encrypted.length];
-        System.arraycopy(ivBytes, Constant.ZERO, combined, Constant.ZERO, ivBytes.length);
-        System.arraycopy(encrypted, Constant.ZERO, combined, ivBytes.length, encrypted.length);
-        return Base64.getEncoder().encodeToString(combined);
+        byte[] plainBytes = plainText.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer text = SCRATCH.get().output(storedLength(plainBytes.length));
+        int length = encryptToBase64(ByteBuffer.wrap(plainBytes), text);
+        return new String(text.array(), Constant.ZERO, length, StandardCharsets.US_ASCII);
     }
 
 
     /**
-     * Decrypts an AES-encrypted Base64 string back to plain text.
+     * Decrypts a stored value back to plain text with the key and mode named by its header.
      *
-     * @param encryptedText the encrypted string in Base64
+     * @param encryptedText the stored value
      * @return the decrypted plain text string
      * @throws NoSuchPaddingException if the padding mechanism is not available
      * @throws NoSuchAlgorithmException if the AES algorithm is not available
      * @throws InvalidAlgorithmParameterException if the IV is invalid
-     * @throws InvalidKeyException if the secret key is invalid
+     * @throws InvalidKeyException if the key id is unknown or the key is invalid
      * @throws IllegalBlockSizeException if the block size is incorrect
-     * @throws BadPaddingException if the padding is incorrect
+     * @throws BadPaddingException if the padding is incorrect or a GCM value fails authentication
      */
     public static String decrypt(String encryptedText) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
         if (encryptedText == null || encryptedText.isEmpty()) {
             return null;
         }
+        byte[] storedBytes = encryptedText.getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer plain = SCRATCH.get().output(Base64Buffers.maxDecodedLength(storedBytes.length));
+        int length = decryptFromBase64(ByteBuffer.wrap(storedBytes), plain);
+        return new String(plain.array(), Constant.ZERO, length, StandardCharsets.UTF_8);
+    }
 
-        // 1. Giải mã Base64 và tách IV + ciphertext
-        byte[] combined = Base64.getDecoder().decode(encryptedText);
-        byte[] ivBytes = new byte[Constant.SIX_TEEN];
-        byte[] encrypted = new byte[combined.length - ivBytes.length];
-        System.arraycopy(combined, Constant.ZERO, ivBytes, Constant.ZERO, ivBytes.length);
-        System.arraycopy(combined, ivBytes.length, encrypted, Constant.ZERO, encrypted.length);
+    /**
+     * Encrypts many values with the active key and mode using one cipher. The provider keeps the
+     * expanded key while the key does not change, so the key schedule is computed once for the batch
+     * instead of once per value, and all nonces come from a single random draw.
+     *
+     * @param plainTexts the values to encrypt, null or empty entries stay null
+     * @return the stored forms in the same order
+     */
+    public static List<String> encryptAll(List<String> plainTexts) throws InvalidAlgorithmParameterException, InvalidKeyException, NoSuchPaddingException, NoSuchAlgorithmException, IllegalBlockSizeException, BadPaddingException {
+        WriteFormat format = writeFormat;
+        SecretKeySpec key = activeKey(format.keyring());
+        String transformation = format.gcm() ? Constant.AES_GCM_TRANSFORMATION : Constant.AES_TRANSFORMATION;
+        int nonceLength = format.gcm() ? GCM_IV_LENGTH : IV_LENGTH;
+        byte[] nonces = new byte[plainTexts.size() * nonceLength];
+        CryptoEnginePool.secureRandom().nextBytes(nonces);
+        Scratch scratch = SCRATCH.get();
+        List<String> storedValues = new ArrayList<>(plainTexts.size());
+        Cipher cipher = CryptoEnginePool.borrowCipher(transformation);
+        try {
+            for (int i = 0; i < plainTexts.size(); i++) {
+                String plainText = plainTexts.get(i);
+                if (plainText == null || plainText.isEmpty()) {
+                    storedValues.add(null);
+                    continue;
+                }
+                byte[] plainBytes = plainText.getBytes(StandardCharsets.UTF_8);
+                ByteBuffer text = scratch.output(format.prefix().length + Base64Buffers.encodedLength(rawLength(plainBytes.length, format.gcm())));
+                int length = seal(cipher, format, key, nonces, i * nonceLength, ByteBuffer.wrap(plainBytes), text);
+                storedValues.add(new String(text.array(), Constant.ZERO, length, StandardCharsets.US_ASCII));
+            }
+        } finally {
+            CryptoEnginePool.releaseCipher(transformation, cipher);
+        }
+        return storedValues;
+    }
+
+    /**
+     * Decrypts many stored values, reusing one cipher per mode for the batch.
+     *
+     * @param storedValues the stored values, null or empty entries stay null
+     * @return the plain texts in the same order
+     */
+    public static List<String> decryptAll(List<String> storedValues) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        Scratch scratch = SCRATCH.get();
+        List<String> plainTexts = new ArrayList<>(storedValues.size());
+        Cipher cbcCipher = null;
+        Cipher gcmCipher = null;
+        try {
+            for (String storedValue : storedValues) {
+                if (storedValue == null || storedValue.isEmpty()) {
+                    plainTexts.add(null);
+                    continue;
+                }
+                ByteBuffer stored = ByteBuffer.wrap(storedValue.getBytes(StandardCharsets.US_ASCII));
+                SecretKeySpec key = readKey(stored);
+                boolean gcm = readGcmHeader(stored);
+                if (gcm && gcmCipher == null) {
+                    gcmCipher = CryptoEnginePool.borrowCipher(Constant.AES_GCM_TRANSFORMATION);
+                } else if (!gcm && cbcCipher == null) {
+                    cbcCipher = CryptoEnginePool.borrowCipher(Constant.AES_TRANSFORMATION);
+                }
+                ByteBuffer plain = scratch.output(Base64Buffers.maxDecodedLength(stored.remaining()));
+                int length = open(gcm ? gcmCipher : cbcCipher, gcm, key, stored, plain);
+                plainTexts.add(new String(plain.array(), Constant.ZERO, length, StandardCharsets.UTF_8));
+            }
+        } finally {
+            if (cbcCipher != null) {
+                CryptoEnginePool.releaseCipher(Constant.AES_TRANSFORMATION, cbcCipher);
+            }
+            if (gcmCipher != null) {
+                CryptoEnginePool.releaseCipher(Constant.AES_GCM_TRANSFORMATION, gcmCipher);
+            }
+        }
+        return plainTexts;
+    }
 
-        // 2. Giải mã với IV đã tách
-        Cipher cipher = Cipher.getInstance(Constant.AES_TRANSFORMATION);
-        cipher.init(Cipher.DECRYPT_MODE, getSecretKeySpec(), new IvParameterSpec(ivBytes));
-        byte[] original = cipher.doFinal(encrypted);
-        return new String(original, StandardCharsets.UTF_8);
+    /**
+     * Decrypts a stored value and encrypts it again with the active key and mode. The plain value only
+     * exists in a per-thread buffer and is never turned into a String.
+     *
+     * @param storedValue the stored value
+     * @return the stored form of the same plain value under the active key and mode
+     */
+    public static String reencrypt(String storedValue) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        byte[] storedBytes = storedValue.getBytes(StandardCharsets.US_ASCII);
+        Scratch scratch = SCRATCH.get();
+        ByteBuffer plain = scratch.plain(Base64Buffers.maxDecodedLength(storedBytes.length));
+        decryptFromBase64(ByteBuffer.wrap(storedBytes), plain);
+        plain.flip();
+        ByteBuffer text = scratch.output(storedLength(plain.remaining()));
+        int length = encryptToBase64(plain, text);
+        return new String(text.array(), Constant.ZERO, length, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Returns the length of the raw CBC form (IV + ciphertext) of a plain text.
+     *
+     * @param plainLength the plain text length in bytes
+     * @return the encrypted length in bytes
+     */
+    public static int encryptedLength(int plainLength) {
+        return IV_LENGTH + (plainLength / BLOCK_SIZE + 1) * BLOCK_SIZE;
+    }
+
+    /**
+     * Returns the length of the stored form of a plain text under the active key and mode.
+     *
+     * @param plainLength the plain text length in bytes
+     * @return the stored length in bytes
+     */
+    public static int storedLength(int plainLength) {
+        WriteFormat format = writeFormat;
+        return format.prefix().length + Base64Buffers.encodedLength(rawLength(plainLength, format.gcm()));
+    }
+
+    /**
+     * Encrypts the remaining bytes of {@code plain} in CBC with the active key and writes IV + ciphertext to
+     * {@code target}. Both buffers may be heap or direct; their positions are advanced. Heap buffers are
+     * cheaper: the JCE provider copies direct buffers through temporary arrays, while for heap buffers
+     * the only allocation left is the key schedule of {@code Cipher.init}.
+     *
+     * @param plain the plain bytes
+     * @param target receives the IV and ciphertext, needs {@link #encryptedLength(int)} bytes remaining
+     * @return the number of bytes written
+     * @throws BufferOverflowException if {@code target} is too small
+     */
+    public static int encrypt(ByteBuffer plain, ByteBuffer target) throws InvalidAlgorithmParameterException, InvalidKeyException, NoSuchPaddingException, NoSuchAlgorithmException, IllegalBlockSizeException, BadPaddingException {
+        SecretKeySpec key = activeKey(writeFormat.keyring());
+        byte[] ivBytes = SCRATCH.get().iv;
+        CryptoEnginePool.secureRandom().nextBytes(ivBytes);
+        Cipher cipher = CryptoEnginePool.borrowCipher(Constant.AES_TRANSFORMATION);
+        try {
+            return encryptCbc(cipher, key, ivBytes, Constant.ZERO, plain, target);
+        } finally {
+            CryptoEnginePool.releaseCipher(Constant.AES_TRANSFORMATION, cipher);
+        }
+    }
+
+    /**
+     * Decrypts the remaining CBC IV + ciphertext bytes of {@code encrypted} with the active key into {@code target}.
+     * Both buffers may be heap or direct; their positions are advanced.
+     *
+     * @param encrypted the IV followed by the ciphertext
+     * @param target receives the plain bytes, needs at least the ciphertext length remaining
+     * @return the number of bytes written
+     * @throws IllegalBlockSizeException if the input is shorter than an IV and one block
+     * @throws BufferOverflowException if {@code target} is too small
+     */
+    public static int decrypt(ByteBuffer encrypted, ByteBuffer target) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        SecretKeySpec key = activeKey(writeFormat.keyring());
+        Cipher cipher = CryptoEnginePool.borrowCipher(Constant.AES_TRANSFORMATION);
+        try {
+            return decryptCbc(cipher, key, encrypted, target);
+        } finally {
+            CryptoEnginePool.releaseCipher(Constant.AES_TRANSFORMATION, cipher);
+        }
+    }
+
+    /**
+     * Encrypts the remaining bytes of {@code plain} with the active key and mode and writes the stored
+     * form to {@code target} as US-ASCII bytes.
+     *
+     * @param plain the plain bytes
+     * @param target receives the stored form, needs {@link #storedLength(int)} bytes remaining
+     * @return the number of bytes written
+     */
+    public static int encryptToBase64(ByteBuffer plain, ByteBuffer target) throws InvalidAlgorithmParameterException, InvalidKeyException, NoSuchPaddingException, NoSuchAlgorithmException, IllegalBlockSizeException, BadPaddingException {
+        WriteFormat format = writeFormat;
+        SecretKeySpec key = activeKey(format.keyring());
+        String transformation = format.gcm() ? Constant.AES_GCM_TRANSFORMATION : Constant.AES_TRANSFORMATION;
+        byte[] ivBytes = SCRATCH.get().iv;
+        CryptoEnginePool.secureRandom().nextBytes(ivBytes);
+        Cipher cipher = CryptoEnginePool.borrowCipher(transformation);
+        try {
+            return seal(cipher, format, key, ivBytes, Constant.ZERO, plain, target);
+        } finally {
+            CryptoEnginePool.releaseCipher(transformation, cipher);
+        }
+    }
+
+    /**
+     * Decrypts a stored value given as US-ASCII bytes into {@code target}, with the key and mode named by its header.
+     *
+     * @param base64 the stored form, an optional key id and mode header and the Base64 of the encrypted bytes
+     * @param target receives the plain bytes
+     * @return the number of bytes written
+     * @throws InvalidKeyException if the key id is unknown
+     * @throws IllegalArgumentException if the input is not valid Base64
+     */
+    public static int decryptFromBase64(ByteBuffer base64, ByteBuffer target) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        SecretKeySpec key = readKey(base64);
+        boolean gcm = readGcmHeader(base64);
+        String transformation = gcm ? Constant.AES_GCM_TRANSFORMATION : Constant.AES_TRANSFORMATION;
+        Cipher cipher = CryptoEnginePool.borrowCipher(transformation);
+        try {
+            return open(cipher, gcm, key, base64, target);
+        } finally {
+            CryptoEnginePool.releaseCipher(transformation, cipher);
+        }
+    }
+
+    /**
+     * Returns how many values have been encrypted.
+     *
+     * @return the number of AES encryptions since startup
+     */
+    public static long getEncryptCount() {
+        return ENCRYPT_COUNT.sum();
+    }
+
+    /**
+     * Returns how many values have been decrypted.
+     *
+     * @return the number of AES decryptions since startup
+     */
+    public static long getDecryptCount() {
+        return DECRYPT_COUNT.sum();
+    }
+
+    private static SecretKeySpec activeKey(AesKeyring currentKeyring) throws InvalidKeyException {
+        String activeKeyId = currentKeyring.getActiveKeyId();
+        return activeKeyId == null ? currentKeyring.legacyKey() : currentKeyring.key(activeKeyId);
+    }
+
+    private static int rawLength(int plainLength, boolean gcm) {
+        return gcm ? GCM_IV_LENGTH + plainLength + GCM_TAG_LENGTH : encryptedLength(plainLength);
+    }
+
+    /**
+     * Consume the key id prefix of a stored value, if any, and return the key it names.
+     * Base64 never contains the separator, so a value without one, or starting with the
+     * {@code gcm$} header, has no key id and uses the legacy key.
+     */
+    private static SecretKeySpec readKey(ByteBuffer storedValue) throws InvalidKeyException {
+        int start = storedValue.position();
+        int end = Math.min(storedValue.limit(), start + Constant.AES_KEY_ID_MAX_LENGTH + 1);
+        for (int i = start; i < end; i++) {
+            if (storedValue.get(i) == KEY_ID_SEPARATOR) {
+                if (hasGcmHeader(storedValue, start)) {
+                    return writeFormat.keyring().legacyKey();
+                }
+                byte[] keyId = new byte[i - start];
+                storedValue.get(keyId);
+                storedValue.get();
+                return writeFormat.keyring().key(new String(keyId, StandardCharsets.US_ASCII));
+            }
+        }
+        return writeFormat.keyring().legacyKey();
+    }
+
+    /**
+     * Consume the {@code gcm$} header if present.
+     *
+     * @return true for a GCM value
+     */
+    private static boolean readGcmHeader(ByteBuffer storedValue) {
+        if (!hasGcmHeader(storedValue, storedValue.position())) {
+            return false;
+        }
+        storedValue.position(storedValue.position() + GCM_HEADER_BYTES.length);
+        return true;
+    }
+
+    private static boolean hasGcmHeader(ByteBuffer storedValue, int offset) {
+        if (storedValue.limit() - offset < GCM_HEADER_BYTES.length) {
+            return false;
+        }
+        for (int i = 0; i < GCM_HEADER_BYTES.length; i++) {
+            if (storedValue.get(offset + i) != GCM_HEADER_BYTES[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encrypt {@code plain} with the given cipher and write the stored form: header, then Base64 of the
+     * encrypted bytes. The IV or nonce is read from {@code nonces} at {@code nonceOffset}.
+     */
+    private static int seal(Cipher cipher, WriteFormat format, SecretKeySpec key, byte[] nonces, int nonceOffset, ByteBuffer plain, ByteBuffer target) throws InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        byte[] prefix = format.prefix();
+        ByteBuffer raw = SCRATCH.get().raw(rawLength(plain.remaining(), format.gcm()));
+        if (format.gcm()) {
+            encryptGcm(cipher, key, nonces, nonceOffset, plain, raw);
+        } else {
+            encryptCbc(cipher, key, nonces, nonceOffset, plain, raw);
+        }
+        raw.flip();
+        if (target.remaining() < prefix.length + Base64Buffers.encodedLength(raw.remaining())) {
+            throw new BufferOverflowException();
+        }
+        target.put(prefix);
+        return prefix.length + Base64Buffers.encode(raw, target);
+    }
+
+    /**
+     * Decode the Base64 after the header of a stored value and decrypt it with the given cipher.
+     */
+    private static int open(Cipher cipher, boolean gcm, SecretKeySpec key, ByteBuffer base64, ByteBuffer target) throws InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        ByteBuffer raw = SCRATCH.get().raw(Base64Buffers.maxDecodedLength(base64.remaining()));
+        Base64Buffers.decode(base64, raw);
+        raw.flip();
+        return gcm ? decryptGcm(cipher, key, raw, target) : decryptCbc(cipher, key, raw, target);
+    }
+
+    private static int encryptCbc(Cipher cipher, SecretKeySpec key, byte[] nonces, int nonceOffset, ByteBuffer plain, ByteBuffer target) throws InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        if (target.remaining() < encryptedLength(plain.remaining())) {
+            throw new BufferOverflowException();
+        }
+        ENCRYPT_COUNT.increment();
+
+        // 1. Dùng IV ngẫu nhiên (16 byte) đã sinh sẵn
+        cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(nonces, nonceOffset, IV_LENGTH));
+
+        // 2. Ghi IV rồi mã hóa dữ liệu ngay sau nó
+        target.put(nonces, nonceOffset, IV_LENGTH);
+        try {
+            return IV_LENGTH + cipher.doFinal(plain, target);
+        } catch (ShortBufferException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    private static int decryptCbc(Cipher cipher, SecretKeySpec key, ByteBuffer encrypted, ByteBuffer target) throws InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        if (encrypted.remaining() < IV_LENGTH + BLOCK_SIZE) {
+            throw new IllegalBlockSizeException(Constant.AES_CIPHERTEXT_TOO_SHORT);
+        }
+        if (target.remaining() < encrypted.remaining() - IV_LENGTH) {
+            throw new BufferOverflowException();
+        }
+        DECRYPT_COUNT.increment();
+
+        // 1. Tách IV ở đầu dữ liệu
+        byte[] ivBytes = SCRATCH.get().iv;
+        encrypted.get(ivBytes, Constant.ZERO, IV_LENGTH);
+
+        // 2. Giải mã phần còn lại với IV đã tách
+        cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(ivBytes, Constant.ZERO, IV_LENGTH));
+        try {
+            return cipher.doFinal(encrypted, target);
+        } catch (ShortBufferException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    private static int encryptGcm(Cipher cipher, SecretKeySpec key, byte[] nonces, int nonceOffset, ByteBuffer plain, ByteBuffer target) throws InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        if (target.remaining() < rawLength(plain.remaining(), true)) {
+            throw new BufferOverflowException();
+        }
+        ENCRYPT_COUNT.increment();
+
+        // 1. Dùng nonce ngẫu nhiên (12 byte) đã sinh sẵn, không bao giờ dùng lại với cùng khóa
+        cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH * Byte.SIZE, nonces, nonceOffset, GCM_IV_LENGTH));
+
+        // 2. Ghi nonce rồi mã hóa, tag xác thực nằm ở cuối
+        target.put(nonces, nonceOffset, GCM_IV_LENGTH);
+        try {
+            return GCM_IV_LENGTH + cipher.doFinal(plain, target);
+        } catch (ShortBufferException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    private static int decryptGcm(Cipher cipher, SecretKeySpec key, ByteBuffer encrypted, ByteBuffer target) throws InvalidAlgorithmParameterException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        if (encrypted.remaining() < GCM_IV_LENGTH + GCM_TAG_LENGTH) {
+            throw new IllegalBlockSizeException(Constant.AES_CIPHERTEXT_TOO_SHORT);
+        }
+        if (target.remaining() < encrypted.remaining() - GCM_IV_LENGTH - GCM_TAG_LENGTH) {
+            throw new BufferOverflowException();
+        }
+        DECRYPT_COUNT.increment();
+
+        // 1. Tách nonce ở đầu dữ liệu
+        byte[] ivBytes = SCRATCH.get().iv;
+        encrypted.get(ivBytes, Constant.ZERO, GCM_IV_LENGTH);
+
+        // 2. Giải mã và kiểm tra tag; sai tag thì ném AEADBadTagException
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH * Byte.SIZE, ivBytes, Constant.ZERO, GCM_IV_LENGTH));
+        try {
+            return cipher.doFinal(encrypted, target);
+        } catch (ShortBufferException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * The key and mode new values are written with, replaced as a whole so a value never mixes the
+     * header of one setting with the key of another.
+     */
+    private record WriteFormat(AesKeyring keyring, boolean gcm, byte[] prefix, String prefixText) {
+
+        WriteFormat(AesKeyring keyring, boolean gcm) {
+            this(keyring, gcm, prefixText(keyring, gcm));
+        }
+
+        private WriteFormat(AesKeyring keyring, boolean gcm, String prefixText) {
+            this(keyring, gcm, prefixText.getBytes(StandardCharsets.US_ASCII), prefixText);
+        }
+
+        private static String prefixText(AesKeyring keyring, boolean gcm) {
+            String keyPrefix = new String(keyring.activeKeyPrefix(), StandardCharsets.US_ASCII);
+            return gcm ? keyPrefix + GCM_HEADER : keyPrefix;
+        }
+    }
+
+    /**
+     * Reusable buffers of one thread. Grown on demand, never shrunk; values are short.
+     */
+    private static final class Scratch {
+
+        private final byte[] iv = new byte[IV_LENGTH];
+
+        private ByteBuffer raw = ByteBuffer.allocate(256);
+
+        private ByteBuffer plain = ByteBuffer.allocate(256);
+
+        private ByteBuffer output = ByteBuffer.allocate(256);
+
+        ByteBuffer raw(int capacity) {
+            if (raw.capacity() < capacity) {
+                raw = ByteBuffer.allocate(capacity);
+            }
+            return raw.clear();
+        }
+
+        ByteBuffer plain(int capacity) {
+            if (plain.capacity() < capacity) {
+                plain = ByteBuffer.allocate(capacity);
+            }
+            return plain.clear();
+        }
+
+        ByteBuffer output(int capacity) {
+            if (output.capacity() < capacity) {
+                output = ByteBuffer.allocate(capacity);
+            }
+            return output.clear();
+        }
     }
 }
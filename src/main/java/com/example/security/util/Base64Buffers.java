@@ -0,0 +1,143 @@
+package com.example.security.util;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Standard Base64 (RFC 4648, with padding) between {@link ByteBuffer}s, heap or direct, without
+ * allocating. Produces and accepts exactly what {@link java.util.Base64#getEncoder()} and
+ * {@link java.util.Base64#getDecoder()} do; the text side is US-ASCII bytes.
+ * <p>
+ * Like the NIO channel methods, both operations read from the source position to its limit, write
+ * at the destination position and advance both positions.
+ */
+public final class Base64Buffers {
+
+    private static final byte[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte PADDING = '=';
+
+    private static final int[] DECODE_TABLE = new int[128];
+
+    static {
+        Arrays.fill(DECODE_TABLE, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE_TABLE[ALPHABET[i]] = i;
+        }
+    }
+
+    private Base64Buffers() {
+    }
+
+    /**
+     * Returns the encoded length of the given number of bytes.
+     *
+     * @param length the number of bytes to encode
+     * @return the number of Base64 characters
+     */
+    public static int encodedLength(int length) {
+        return (length + 2) / 3 * 4;
+    }
+
+    /**
+     * Returns the maximum decoded length of the given number of Base64 characters.
+     *
+     * @param length the number of Base64 characters
+     * @return an upper bound of the number of decoded bytes
+     */
+    public static int maxDecodedLength(int length) {
+        return length / 4 * 3;
+    }
+
+    /**
+     * Encode the remaining bytes of {@code source} into {@code target}.
+     *
+     * @param source the bytes to encode
+     * @param target receives the Base64 characters
+     * @return the number of characters written
+     * @throws BufferOverflowException if {@code target} has less than {@link #encodedLength(int)} bytes remaining
+     */
+    public static int encode(ByteBuffer source, ByteBuffer target) {
+        int length = encodedLength(source.remaining());
+        if (target.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        while (source.remaining() >= 3) {
+            int bits = (source.get() & 0xff) << 16 | (source.get() & 0xff) << 8 | (source.get() & 0xff);
+            target.put(ALPHABET[bits >>> 18 & 0x3f]);
+            target.put(ALPHABET[bits >>> 12 & 0x3f]);
+            target.put(ALPHABET[bits >>> 6 & 0x3f]);
+            target.put(ALPHABET[bits & 0x3f]);
+        }
+        if (source.remaining() == 2) {
+            int bits = (source.get() & 0xff) << 16 | (source.get() & 0xff) << 8;
+            target.put(ALPHABET[bits >>> 18 & 0x3f]);
+            target.put(ALPHABET[bits >>> 12 & 0x3f]);
+            target.put(ALPHABET[bits >>> 6 & 0x3f]);
+            target.put(PADDING);
+        } else if (source.remaining() == 1) {
+            int bits = (source.get() & 0xff) << 16;
+            target.put(ALPHABET[bits >>> 18 & 0x3f]);
+            target.put(ALPHABET[bits >>> 12 & 0x3f]);
+            target.put(PADDING);
+            target.put(PADDING);
+        }
+        return length;
+    }
+
+    /**
+     * Decode the remaining Base64 characters of {@code source} into {@code target}.
+     *
+     * @param source the Base64 characters, a multiple of 4 with optional trailing padding
+     * @param target receives the decoded bytes
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if {@code source} is not valid Base64
+     * @throws BufferOverflowException if {@code target} is too small
+     */
+    public static int decode(ByteBuffer source, ByteBuffer target) {
+        int length = source.remaining();
+        if (length % 4 != 0) {
+            throw new IllegalArgumentException("Base64 input length is not a multiple of 4: " + length);
+        }
+        int start = target.position();
+        while (source.remaining() > 4) {
+            int bits = sextet(source.get()) << 18 | sextet(source.get()) << 12 | sextet(source.get()) << 6 | sextet(source.get());
+            target.put((byte) (bits >>> 16));
+            target.put((byte) (bits >>> 8));
+            target.put((byte) bits);
+        }
+        if (source.hasRemaining()) {
+            byte first = source.get();
+            byte second = source.get();
+            byte third = source.get();
+            byte fourth = source.get();
+            int bits = sextet(first) << 18 | sextet(second) << 12;
+            if (third == PADDING) {
+                if (fourth != PADDING) {
+                    throw new IllegalArgumentException("Illegal Base64 padding");
+                }
+                target.put((byte) (bits >>> 16));
+            } else if (fourth == PADDING) {
+                bits |= sextet(third) << 6;
+                target.put((byte) (bits >>> 16));
+                target.put((byte) (bits >>> 8));
+            } else {
+                bits |= sextet(third) << 6 | sextet(fourth);
+                target.put((byte) (bits >>> 16));
+                target.put((byte) (bits >>> 8));
+                target.put((byte) bits);
+            }
+        }
+        return target.position() - start;
+    }
+
+    private static int sextet(byte character) {
+        int value = character >= 0 ? DECODE_TABLE[character] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Illegal Base64 character: " + (char) (character & 0xff));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.security.util;
+
+import com.example.security.constant.Constant;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Computes deterministic blind indexes for encrypted columns.
+ * The stored ciphertext uses a random IV and cannot be searched, so a keyed HMAC-SHA256 of the
+ * normalized plain value is stored next to it and used for equality lookups.
+ */
+@Component
+public class BlindIndexer {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec indexKey;
+
+    public BlindIndexer(@Value("${aes.blind-index-key}") String blindIndexKey) {
+        if (blindIndexKey == null || blindIndexKey.isBlank()) {
+            throw new IllegalStateException(Constant.BLIND_INDEX_KEY_NOT_CONFIGURED);
+        }
+        this.indexKey = new SecretKeySpec(blindIndexKey.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Compute the blind index of a value.
+     *
+     * @param value the plain value, e.g. an account number
+     * @return the URL-safe Base64 HMAC of the trimmed value, or null for a null value
+     * @throws NoSuchAlgorithmException if HmacSHA256 is not available
+     * @throws InvalidKeyException if the index key is invalid
+     */
+    public String index(String value) throws NoSuchAlgorithmException, InvalidKeyException {
+        if (value == null) {
+            return null;
+        }
+        Mac mac = CryptoEnginePool.borrowMac(HMAC_ALGORITHM);
+        try {
+            mac.init(indexKey);
+            byte[] digest = mac.doFinal(value.trim().getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } finally {
+            CryptoEnginePool.releaseMac(HMAC_ALGORITHM, mac);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.security.util;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link AsyncAppender} that counts the events it drops.
+ * <p>
+ * Events are handed to the attached appenders through a bounded queue on a background thread. When fewer
+ * than {@code discardingThreshold} slots are left, events at {@code discardLevel} (INFO by default) or below
+ * are dropped instead of queued, and so are events marked {@link #DISCARDABLE} at any level; other events
+ * still wait for a free slot. The count is published as {@code logback.events.dropped} by
+ * {@link com.example.security.config.LoggingMetricsConfig}.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    /**
+     * Marks events that are only worth logging while the queue has room, such as client errors: a flood
+     * of bad requests must not block request threads on the log queue.
+     */
+    public static final Marker DISCARDABLE = MarkerFactory.getMarker("DISCARDABLE");
+
+    private final LongAdder dropped = new LongAdder();
+
+    private Level discardLevel = Level.INFO;
+
+    public void setDiscardLevel(String discardLevel) {
+        this.discardLevel = Level.toLevel(discardLevel, Level.INFO);
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Called only while the queue is below the discarding threshold.
+     */
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        if (event.getLevel().toInt() > discardLevel.toInt() && !isMarkedDiscardable(event)) {
+            return false;
+        }
+        dropped.increment();
+        return true;
+    }
+
+    private static boolean isMarkedDiscardable(ILoggingEvent event) {
+        List<Marker> markers = event.getMarkerList();
+        if (markers == null) {
+            return false;
+        }
+        for (Marker marker : markers) {
+            if (marker.contains(DISCARDABLE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
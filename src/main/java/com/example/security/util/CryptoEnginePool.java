@@ -0,0 +1,170 @@
+package com.example.security.util;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.NoSuchPaddingException;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.Signature;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of reusable JCA engines shared by {@link AesUtil}, {@link RsaUtil} and {@link BlindIndexer}.
+ * Engines are kept in per-algorithm queues instead of thread locals, so reuse also works
+ * when requests run on short-lived or virtual threads. Callers must always re-initialize
+ * a borrowed engine and hand it back with the matching release method.
+ */
+public final class CryptoEnginePool {
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final Map<String, Queue<Cipher>> CIPHERS = new ConcurrentHashMap<>();
+    private static final Map<String, Queue<Signature>> SIGNATURES = new ConcurrentHashMap<>();
+    private static final Map<String, Queue<Mac>> MACS = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    private static volatile boolean enabled = true;
+    private static volatile int maxIdle = 64;
+
+    private CryptoEnginePool() {
+    }
+
+    /**
+     * Applies the pool configuration. Idle engines are dropped so the new bound takes effect.
+     *
+     * @param poolEnabled whether engines are reused at all
+     * @param maxIdlePerAlgorithm maximum number of idle engines kept per algorithm
+     */
+    public static void configure(boolean poolEnabled, int maxIdlePerAlgorithm) {
+        enabled = poolEnabled;
+        maxIdle = Math.max(1, maxIdlePerAlgorithm);
+        CIPHERS.clear();
+        SIGNATURES.clear();
+        MACS.clear();
+    }
+
+    /**
+     * Borrows a cipher for the given transformation, creating one on a pool miss.
+     *
+     * @param transformation the cipher transformation
+     * @return an uninitialized or previously used cipher
+     * @throws NoSuchAlgorithmException if the transformation is not available
+     * @throws NoSuchPaddingException if the padding mechanism is not available
+     */
+    public static Cipher borrowCipher(String transformation) throws NoSuchAlgorithmException, NoSuchPaddingException {
+        if (enabled) {
+            Cipher cipher = CIPHERS.computeIfAbsent(transformation, key -> new ArrayBlockingQueue<>(maxIdle)).poll();
+            if (cipher != null) {
+                HITS.increment();
+                return cipher;
+            }
+            MISSES.increment();
+        }
+        return Cipher.getInstance(transformation);
+    }
+
+    /**
+     * Returns a cipher to the pool. The cipher is discarded when the pool is full or disabled.
+     *
+     * @param transformation the transformation the cipher was borrowed for
+     * @param cipher the cipher to return
+     */
+    public static void releaseCipher(String transformation, Cipher cipher) {
+        if (enabled) {
+            CIPHERS.computeIfAbsent(transformation, key -> new ArrayBlockingQueue<>(maxIdle)).offer(cipher);
+        }
+    }
+
+    /**
+     * Borrows a signature engine for the given algorithm, creating one on a pool miss.
+     *
+     * @param algorithm the signature algorithm
+     * @return an uninitialized or previously used signature engine
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     */
+    public static Signature borrowSignature(String algorithm) throws NoSuchAlgorithmException {
+        if (enabled) {
+            Signature signature = SIGNATURES.computeIfAbsent(algorithm, key -> new ArrayBlockingQueue<>(maxIdle)).poll();
+            if (signature != null) {
+                HITS.increment();
+                return signature;
+            }
+            MISSES.increment();
+        }
+        return Signature.getInstance(algorithm);
+    }
+
+    /**
+     * Returns a signature engine to the pool. The engine is discarded when the pool is full or disabled.
+     *
+     * @param algorithm the algorithm the engine was borrowed for
+     * @param signature the signature engine to return
+     */
+    public static void releaseSignature(String algorithm, Signature signature) {
+        if (enabled) {
+            SIGNATURES.computeIfAbsent(algorithm, key -> new ArrayBlockingQueue<>(maxIdle)).offer(signature);
+        }
+    }
+
+    /**
+     * Borrows a MAC engine for the given algorithm, creating one on a pool miss.
+     *
+     * @param algorithm the MAC algorithm
+     * @return an uninitialized or previously used MAC engine
+     * @throws NoSuchAlgorithmException if the algorithm is not available
+     */
+    public static Mac borrowMac(String algorithm) throws NoSuchAlgorithmException {
+        if (enabled) {
+            Mac mac = MACS.computeIfAbsent(algorithm, key -> new ArrayBlockingQueue<>(maxIdle)).poll();
+            if (mac != null) {
+                HITS.increment();
+                return mac;
+            }
+            MISSES.increment();
+        }
+        return Mac.getInstance(algorithm);
+    }
+
+    /**
+     * Returns a MAC engine to the pool. The engine is discarded when the pool is full or disabled.
+     *
+     * @param algorithm the algorithm the engine was borrowed for
+     * @param mac the MAC engine to return
+     */
+    public static void releaseMac(String algorithm, Mac mac) {
+        if (enabled) {
+            MACS.computeIfAbsent(algorithm, key -> new ArrayBlockingQueue<>(maxIdle)).offer(mac);
+        }
+    }
+
+    /**
+     * Get the shared, thread-safe random source used for IVs and keys.
+     *
+     * @return the shared SecureRandom
+     */
+    public static SecureRandom secureRandom() {
+        return SECURE_RANDOM;
+    }
+
+    /**
+     * Returns how many borrows were served by an idle pooled engine.
+     *
+     * @return the pool hit count
+     */
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * Returns how many borrows had to create a new engine through the JCA provider lookup.
+     *
+     * @return the pool miss count
+     */
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+}
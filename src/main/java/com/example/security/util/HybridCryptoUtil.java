@@ -0,0 +1,138 @@
+package com.example.security.util;
+
+import com.example.security.constant.Constant;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.BadPaddingException;
+import javax.crypto.Cipher;
+import javax.crypto.IllegalBlockSizeException;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * AES-GCM helpers for the hybrid request envelope: a whole batch is encrypted once
+ * with a random data key, and only that data key is wrapped with RSA.
+ * The signed envelope uses the same data key scheme for the account of each leg.
+ */
+public class HybridCryptoUtil {
+
+    private static final int DATA_KEY_LENGTH = 32;
+    private static final int GCM_IV_LENGTH = 12;
+    private static final int GCM_TAG_BITS = 128;
+
+    private HybridCryptoUtil() {
+    }
+
+    /**
+     * Generates a random 256-bit AES data key.
+     *
+     * @return the data key
+     */
+    public static SecretKey generateDataKey() {
+        byte[] keyBytes = new byte[DATA_KEY_LENGTH];
+        CryptoEnginePool.secureRandom().nextBytes(keyBytes);
+        return new SecretKeySpec(keyBytes, Constant.AES);
+    }
+
+    /**
+     * Generates a random 96-bit GCM nonce.
+     *
+     * @return the nonce bytes
+     */
+    public static byte[] generateIv() {
+        byte[] iv = new byte[GCM_IV_LENGTH];
+        CryptoEnginePool.secureRandom().nextBytes(iv);
+        return iv;
+    }
+
+    /**
+     * Encrypts and authenticates data with AES/GCM/NoPadding.
+     *
+     * @param plainBytes the data to encrypt
+     * @param dataKey the AES data key
+     * @param iv the GCM nonce, never reused with the same key
+     * @param associatedData data authenticated but not encrypted
+     * @return the ciphertext followed by the authentication tag
+     * @throws NoSuchPaddingException if the padding mechanism is not available
+     * @throws NoSuchAlgorithmException if AES-GCM is not available
+     * @throws InvalidKeyException if the data key is invalid
+     * @throws InvalidAlgorithmParameterException if the nonce is invalid
+     * @throws IllegalBlockSizeException if the block size is incorrect
+     * @throws BadPaddingException if encryption fails
+     */
+    public static byte[] encrypt(byte[] plainBytes, SecretKey dataKey, byte[] iv, byte[] associatedData) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException, IllegalBlockSizeException, BadPaddingException {
+        Cipher cipher = CryptoEnginePool.borrowCipher(Constant.AES_GCM_TRANSFORMATION);
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, dataKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            cipher.updateAAD(associatedData);
+            return cipher.doFinal(plainBytes);
+        } finally {
+            CryptoEnginePool.releaseCipher(Constant.AES_GCM_TRANSFORMATION, cipher);
+        }
+    }
+
+    /**
+     * Encrypts data under a fresh random nonce and returns the nonce followed by the ciphertext and tag.
+     *
+     * @param plainBytes the data to encrypt
+     * @param dataKey the AES data key
+     * @param associatedData data authenticated but not encrypted
+     * @return the nonce, ciphertext and authentication tag
+     */
+    public static byte[] seal(byte[] plainBytes, SecretKey dataKey, byte[] associatedData) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException, IllegalBlockSizeException, BadPaddingException {
+        byte[] iv = generateIv();
+        byte[] encryptedBytes = encrypt(plainBytes, dataKey, iv, associatedData);
+        byte[] sealedBytes = Arrays.copyOf(iv, GCM_IV_LENGTH + encryptedBytes.length);
+        System.arraycopy(encryptedBytes, 0, sealedBytes, GCM_IV_LENGTH, encryptedBytes.length);
+        return sealedBytes;
+    }
+
+    /**
+     * Verifies and decrypts data produced by {@link #seal(byte[], SecretKey, byte[])}.
+     *
+     * @param sealedBytes the nonce, ciphertext and authentication tag
+     * @param dataKey the AES data key
+     * @param associatedData the authenticated data used for encryption
+     * @return the decrypted data
+     * @throws BadPaddingException if the data is too short or the authentication tag does not match
+     */
+    public static byte[] open(byte[] sealedBytes, SecretKey dataKey, byte[] associatedData) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException, IllegalBlockSizeException, BadPaddingException {
+        if (sealedBytes.length < GCM_IV_LENGTH + GCM_TAG_BITS / Byte.SIZE) {
+            throw new AEADBadTagException("Sealed data is shorter than nonce and tag");
+        }
+        return decrypt(Arrays.copyOfRange(sealedBytes, GCM_IV_LENGTH, sealedBytes.length), dataKey,
+                Arrays.copyOf(sealedBytes, GCM_IV_LENGTH), associatedData);
+    }
+
+    /**
+     * Verifies and decrypts data produced by {@link #encrypt(byte[], SecretKey, byte[], byte[])}.
+     *
+     * @param encryptedBytes the ciphertext followed by the authentication tag
+     * @param dataKey the AES data key
+     * @param iv the GCM nonce used for encryption
+     * @param associatedData the authenticated data used for encryption
+     * @return the decrypted data
+     * @throws NoSuchPaddingException if the padding mechanism is not available
+     * @throws NoSuchAlgorithmException if AES-GCM is not available
+     * @throws InvalidKeyException if the data key is invalid
+     * @throws InvalidAlgorithmParameterException if the nonce is invalid
+     * @throws IllegalBlockSizeException if the block size is incorrect
+     * @throws BadPaddingException if the authentication tag does not match
+     */
+    public static byte[] decrypt(byte[] encryptedBytes, SecretKey dataKey, byte[] iv, byte[] associatedData) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, InvalidAlgorithmParameterException, IllegalBlockSizeException, BadPaddingException {
+        Cipher cipher = CryptoEnginePool.borrowCipher(Constant.AES_GCM_TRANSFORMATION);
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, dataKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            cipher.updateAAD(associatedData);
+            return cipher.doFinal(encryptedBytes);
+        } finally {
+            CryptoEnginePool.releaseCipher(Constant.AES_GCM_TRANSFORMATION, cipher);
+        }
+    }
+}
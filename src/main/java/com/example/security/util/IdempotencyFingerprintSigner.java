@@ -0,0 +1,89 @@
+package com.example.security.util;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Signs the {@code Idempotency-Fingerprint} a forwarding node sends to {@code /create}, so the header is
+ * only trusted from nodes sharing {@code idempotency.forwarder-secret}. Without a valid signature
+ * {@code /create} fingerprints the request body itself.
+ */
+@Component
+public class IdempotencyFingerprintSigner {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final SecretKeySpec signingKey;
+
+    public IdempotencyFingerprintSigner(@Value("${idempotency.forwarder-secret:}") String forwarderSecret) {
+        this.signingKey = forwarderSecret == null || forwarderSecret.isBlank()
+                ? null
+                : new SecretKeySpec(forwarderSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Returns whether a forwarder secret is configured.
+     */
+    public boolean isConfigured() {
+        return signingKey != null;
+    }
+
+    /**
+     * Sign the fingerprint of a key.
+     *
+     * @param idempotencyKey the key with its fingerprint
+     * @return the URL-safe Base64 HMAC of the key and fingerprint
+     * @throws IllegalStateException if no forwarder secret is configured
+     */
+    public String sign(IdempotencyKey idempotencyKey) {
+        if (signingKey == null) {
+            throw new IllegalStateException(Constant.IDEMPOTENCY_FORWARDER_SECRET_NOT_CONFIGURED);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(mac(idempotencyKey.value(), idempotencyKey.fingerprint()));
+    }
+
+    /**
+     * Check the signature of a forwarded fingerprint.
+     *
+     * @param key the Idempotency-Key
+     * @param fingerprint the forwarded fingerprint
+     * @param signature the forwarded signature
+     * @return true if a secret is configured and the signature matches
+     */
+    public boolean verify(String key, String fingerprint, String signature) {
+        if (signingKey == null || fingerprint == null || signature == null) {
+            return false;
+        }
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(signature);
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        return MessageDigest.isEqual(mac(key, fingerprint), actual);
+    }
+
+    private byte[] mac(String key, String fingerprint) {
+        try {
+            Mac mac = CryptoEnginePool.borrowMac(HMAC_ALGORITHM);
+            try {
+                mac.init(signingKey);
+                // the key length is bounded and the fingerprint is hex, so a newline separates them unambiguously
+                return mac.doFinal((key + '\n' + fingerprint).getBytes(StandardCharsets.UTF_8));
+            } finally {
+                CryptoEnginePool.releaseMac(HMAC_ALGORITHM, mac);
+            }
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.security.util;
+
+import com.example.security.constant.Constant;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPrivateCrtKey;
+import java.security.spec.InvalidKeySpecException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the parsed RSA key pair used by the transaction flow.
+ * Keys are decoded once at startup from {@code RSA_PUBLIC_KEY}/{@code RSA_PRIVATE_KEY}
+ * (or from key files when configured) and reused on every request, so the hot path
+ * never goes through {@link java.security.KeyFactory}.
+ * When key files are configured they are polled and hot-reloaded on change.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RsaKeyProvider {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${RSA_PUBLIC_KEY:}")
+    private String publicKeyString;
+
+    @Value("${RSA_PRIVATE_KEY:}")
+    private String privateKeyString;
+
+    @Value("${rsa.public-key-path:}")
+    private String publicKeyPath;
+
+    @Value("${rsa.private-key-path:}")
+    private String privateKeyPath;
+
+    private final AtomicLong reloadCount = new AtomicLong();
+
+    private volatile KeyMaterial keyMaterial;
+
+    /**
+     * Parses the configured key pair and registers the key metrics.
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            keyMaterial = loadKeyMaterial();
+        } catch (IOException | NoSuchAlgorithmException | InvalidKeySpecException | IllegalArgumentException ex) {
+            throw new IllegalStateException(Constant.RSA_KEY_LOAD_FAILED, ex);
+        }
+        FunctionCounter.builder("rsa.key.parse", RsaUtil.class, ignored -> RsaUtil.getPublicKeyParseCount())
+                .description("Number of RSA public keys parsed through KeyFactory")
+                .tag("type", "public")
+                .register(meterRegistry);
+        FunctionCounter.builder("rsa.key.parse", RsaUtil.class, ignored -> RsaUtil.getPrivateKeyParseCount())
+                .description("Number of RSA private keys parsed through KeyFactory")
+                .tag("type", "private")
+                .register(meterRegistry);
+        FunctionCounter.builder("rsa.key.reloads", reloadCount, AtomicLong::get)
+                .description("Number of successful RSA key hot reloads")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the cached RSA public key.
+     *
+     * @return the public key
+     */
+    public PublicKey getPublicKey() {
+        return keyMaterial.publicKey();
+    }
+
+    /**
+     * Get the cached RSA private key. The key keeps its CRT parameters so
+     * decryption and signing take the Chinese Remainder Theorem fast path.
+     *
+     * @return the private key
+     */
+    public PrivateKey getPrivateKey() {
+        return keyMaterial.privateKey();
+    }
+
+    /**
+     * Polls the configured key files and reloads the key pair when one of them changed.
+     * Does nothing when keys come from environment variables.
+     */
+    @Scheduled(fixedDelayString = "${rsa.key-reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        if (!hasKeyFiles()) {
+            return;
+        }
+        try {
+            if (lastModified(publicKeyPath) == keyMaterial.publicKeyModified()
+                    && lastModified(privateKeyPath) == keyMaterial.privateKeyModified()) {
+                return;
+            }
+            keyMaterial = loadKeyMaterial();
+            reloadCount.incrementAndGet();
+            log.info(Constant.RSA_KEY_RELOADED, publicKeyPath, privateKeyPath);
+        } catch (IOException | NoSuchAlgorithmException | InvalidKeySpecException | IllegalArgumentException ex) {
+            log.error(Constant.RSA_KEY_RELOAD_FAILED, ex.getMessage(), ex);
+        }
+    }
+
+    private KeyMaterial loadKeyMaterial() throws IOException, NoSuchAlgorithmException, InvalidKeySpecException {
+        String publicKeyValue = publicKeyString;
+        String privateKeyValue = privateKeyString;
+        long publicKeyModified = 0L;
+        long privateKeyModified = 0L;
+        if (hasKeyFiles()) {
+            publicKeyModified = lastModified(publicKeyPath);
+            privateKeyModified = lastModified(privateKeyPath);
+            publicKeyValue = readKeyFile(publicKeyPath);
+            privateKeyValue = readKeyFile(privateKeyPath);
+        }
+        if (publicKeyValue == null || publicKeyValue.isBlank() || privateKeyValue == null || privateKeyValue.isBlank()) {
+            throw new IllegalArgumentException(Constant.RSA_KEY_NOT_CONFIGURED);
+        }
+        PublicKey publicKey = RsaUtil.stringToPublicKey(publicKeyValue.trim());
+        PrivateKey privateKey = RsaUtil.stringToPrivateKey(privateKeyValue.trim());
+        if (!(privateKey instanceof RSAPrivateCrtKey)) {
+            log.warn(Constant.RSA_KEY_WITHOUT_CRT);
+        }
+        return new KeyMaterial(publicKey, privateKey, publicKeyModified, privateKeyModified);
+    }
+
+    private boolean hasKeyFiles() {
+        return !publicKeyPath.isBlank() && !privateKeyPath.isBlank();
+    }
+
+    private static long lastModified(String path) throws IOException {
+        return Files.getLastModifiedTime(Path.of(path)).toMillis();
+    }
+
+    /**
+     * Reads a Base64 key file, accepting both bare Base64 and PEM armored content.
+     */
+    private static String readKeyFile(String path) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (String line : Files.readAllLines(Path.of(path), StandardCharsets.UTF_8)) {
+            if (!line.startsWith("-----")) {
+                builder.append(line.trim());
+            }
+        }
+        return builder.toString();
+    }
+
+    private record KeyMaterial(PublicKey publicKey, PrivateKey privateKey, long publicKeyModified, long privateKeyModified) {
+    }
+}
@@ -6,12 +6,16 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
 import java.security.spec.InvalidKeySpecException;
 import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Implementation of the RSA for asymmetric encryption operations.
@@ -25,6 +29,15 @@ public class RsaUtil {
     private static final String SIGNATURE_ALGORITHM = "SHA256withRSA";
     private static final int KEY_SIZE = 2048;
 
+    private static final AtomicLong PUBLIC_KEY_PARSE_COUNT = new AtomicLong();
+    private static final AtomicLong PRIVATE_KEY_PARSE_COUNT = new AtomicLong();
+
+    private static final LongAdder ENCRYPT_COUNT = new LongAdder();
+    private static final LongAdder DECRYPT_COUNT = new LongAdder();
+    private static final LongAdder WRAP_COUNT = new LongAdder();
+    private static final LongAdder UNWRAP_COUNT = new LongAdder();
+    private static final LongAdder SIGN_COUNT = new LongAdder();
+    private static final LongAdder VERIFY_COUNT = new LongAdder();
 
     /**
      * Generates a new RSA key pair.
@@ -51,10 +64,19 @@ public class RsaUtil {
      * @throws BadPaddingException if the padding is incorrect
      */
     public static String encrypt(String plainText, PublicKey publicKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        Cipher cipher = Cipher.getInstance(RSA_CIPHER_ALGORITHM);
-        cipher.init(Cipher.ENCRYPT_MODE, publicKey);
-        byte[] encryptedBytes = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
-        return Base64.getEncoder().encodeToString(encryptedBytes);
+        return Base64.getEncoder().encodeToString(encryptToBytes(plainText, publicKey));
+    }
+
+    /**
+     * Encrypts a plain text string using the RSA public key.
+     *
+     * @param plainText The text to encrypt
+     * @param publicKey The RSA public key
+     * @return The raw ciphertext
+     */
+    public static byte[] encryptToBytes(String plainText, PublicKey publicKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        ENCRYPT_COUNT.increment();
+        return encryptBytes(plainText.getBytes(StandardCharsets.UTF_8), publicKey);
     }
 
     /**
@@ -65,10 +87,87 @@ public class RsaUtil {
      * @return The decrypted plain text
      */
     public static String decrypt(String encryptedText, PrivateKey privateKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
-        Cipher cipher = Cipher.getInstance(RSA_CIPHER_ALGORITHM);
-        cipher.init(Cipher.DECRYPT_MODE, privateKey);
-        byte[] decryptedBytes = cipher.doFinal(Base64.getDecoder().decode(encryptedText));
-        return new String(decryptedBytes, StandardCharsets.UTF_8);
+        return decrypt(Base64.getDecoder().decode(encryptedText), privateKey);
+    }
+
+    /**
+     * Decrypts a raw ciphertext using the RSA private key.
+     *
+     * @param encryptedBytes The raw ciphertext
+     * @param privateKey The RSA private key
+     * @return The decrypted plain text
+     */
+    public static String decrypt(byte[] encryptedBytes, PrivateKey privateKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        DECRYPT_COUNT.increment();
+        return new String(decryptBytes(encryptedBytes, privateKey), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Wraps a symmetric data key with the RSA public key.
+     *
+     * @param dataKey The symmetric key to wrap
+     * @param publicKey The RSA public key
+     * @return Base64-encoded wrapped key
+     */
+    public static String wrapKey(SecretKey dataKey, PublicKey publicKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        return Base64.getEncoder().encodeToString(wrapKeyToBytes(dataKey, publicKey));
+    }
+
+    /**
+     * Wraps a symmetric data key with the RSA public key.
+     *
+     * @param dataKey The symmetric key to wrap
+     * @param publicKey The RSA public key
+     * @return The raw wrapped key
+     */
+    public static byte[] wrapKeyToBytes(SecretKey dataKey, PublicKey publicKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        WRAP_COUNT.increment();
+        return encryptBytes(dataKey.getEncoded(), publicKey);
+    }
+
+    /**
+     * Unwraps a symmetric data key with the RSA private key.
+     *
+     * @param wrappedKey Base64-encoded wrapped key
+     * @param privateKey The RSA private key
+     * @param algorithm The algorithm of the wrapped key, e.g. AES
+     * @return The unwrapped symmetric key
+     */
+    public static SecretKey unwrapKey(String wrappedKey, PrivateKey privateKey, String algorithm) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        return unwrapKey(Base64.getDecoder().decode(wrappedKey), privateKey, algorithm);
+    }
+
+    /**
+     * Unwraps a symmetric data key with the RSA private key.
+     *
+     * @param wrappedKey The raw wrapped key
+     * @param privateKey The RSA private key
+     * @param algorithm The algorithm of the wrapped key, e.g. AES
+     * @return The unwrapped symmetric key
+     */
+    public static SecretKey unwrapKey(byte[] wrappedKey, PrivateKey privateKey, String algorithm) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        UNWRAP_COUNT.increment();
+        return new SecretKeySpec(decryptBytes(wrappedKey, privateKey), algorithm);
+    }
+
+    private static byte[] encryptBytes(byte[] plainBytes, PublicKey publicKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        Cipher cipher = CryptoEnginePool.borrowCipher(RSA_CIPHER_ALGORITHM);
+        try {
+            cipher.init(Cipher.ENCRYPT_MODE, publicKey, CryptoEnginePool.secureRandom());
+            return cipher.doFinal(plainBytes);
+        } finally {
+            CryptoEnginePool.releaseCipher(RSA_CIPHER_ALGORITHM, cipher);
+        }
+    }
+
+    private static byte[] decryptBytes(byte[] encryptedBytes, PrivateKey privateKey) throws NoSuchPaddingException, NoSuchAlgorithmException, InvalidKeyException, IllegalBlockSizeException, BadPaddingException {
+        Cipher cipher = CryptoEnginePool.borrowCipher(RSA_CIPHER_ALGORITHM);
+        try {
+            cipher.init(Cipher.DECRYPT_MODE, privateKey);
+            return cipher.doFinal(encryptedBytes);
+        } finally {
+            CryptoEnginePool.releaseCipher(RSA_CIPHER_ALGORITHM, cipher);
+        }
     }
 
     /**
@@ -79,10 +178,26 @@ public class RsaUtil {
      * @return Base64-encoded signature
      */
     public String sign(String data, PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
-        Signature signature = Signature.getInstance(SIGNATURE_ALGORITHM);
-        signature.initSign(privateKey);
-        signature.update(data.getBytes(StandardCharsets.UTF_8));
-        return Base64.getEncoder().encodeToString(signature.sign());
+        return Base64.getEncoder().encodeToString(signToBytes(data.getBytes(StandardCharsets.UTF_8), privateKey));
+    }
+
+    /**
+     * Creates a digital signature for raw data using SHA256withRSA.
+     *
+     * @param data The data to sign
+     * @param privateKey The RSA private key for signing
+     * @return The raw signature
+     */
+    public static byte[] signToBytes(byte[] data, PrivateKey privateKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        SIGN_COUNT.increment();
+        Signature signature = CryptoEnginePool.borrowSignature(SIGNATURE_ALGORITHM);
+        try {
+            signature.initSign(privateKey);
+            signature.update(data);
+            return signature.sign();
+        } finally {
+            CryptoEnginePool.releaseSignature(SIGNATURE_ALGORITHM, signature);
+        }
     }
 
     /**
@@ -94,10 +209,28 @@ public class RsaUtil {
      * @return true if the signature is valid, false otherwise
      */
     public boolean verify(String data, String signature, PublicKey publicKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
-        Signature sig = Signature.getInstance(SIGNATURE_ALGORITHM);
-        sig.initVerify(publicKey);
-        sig.update(data.getBytes(StandardCharsets.UTF_8));
-        return sig.verify(Base64.getDecoder().decode(signature));
+        return verifyBytes(data.getBytes(StandardCharsets.UTF_8), Base64.getDecoder().decode(signature), publicKey);
+    }
+
+    /**
+     * Verifies a raw signature against raw data using the public key.
+     *
+     * @param data The original data
+     * @param signature The raw signature
+     * @param publicKey The RSA public key
+     * @return true if the signature is valid, false otherwise
+     * @throws SignatureException if the signature is malformed, e.g. of the wrong length
+     */
+    public static boolean verifyBytes(byte[] data, byte[] signature, PublicKey publicKey) throws NoSuchAlgorithmException, InvalidKeyException, SignatureException {
+        VERIFY_COUNT.increment();
+        Signature sig = CryptoEnginePool.borrowSignature(SIGNATURE_ALGORITHM);
+        try {
+            sig.initVerify(publicKey);
+            sig.update(data);
+            return sig.verify(signature);
+        } finally {
+            CryptoEnginePool.releaseSignature(SIGNATURE_ALGORITHM, sig);
+        }
     }
 
     /**
@@ -130,6 +263,7 @@ public class RsaUtil {
         byte[] publicKeyBytes = Base64.getDecoder().decode(publicKeyString);
         X509EncodedKeySpec keySpec = new X509EncodedKeySpec(publicKeyBytes);
         KeyFactory keyFactory = KeyFactory.getInstance(RSA_ALGORITHM);
+        PUBLIC_KEY_PARSE_COUNT.incrementAndGet();
         return keyFactory.generatePublic(keySpec);
     }
 
@@ -143,6 +277,79 @@ public class RsaUtil {
         byte[] privateKeyBytes = Base64.getDecoder().decode(privateKeyString);
         PKCS8EncodedKeySpec keySpec = new PKCS8EncodedKeySpec(privateKeyBytes);
         KeyFactory keyFactory = KeyFactory.getInstance(RSA_ALGORITHM);
+        PRIVATE_KEY_PARSE_COUNT.incrementAndGet();
         return keyFactory.generatePrivate(keySpec);
     }
+
+    /**
+     * Returns how many times a public key has been parsed through {@link KeyFactory}.
+     *
+     * @return the number of public key parses since startup
+     */
+    public static long getPublicKeyParseCount() {
+        return PUBLIC_KEY_PARSE_COUNT.get();
+    }
+
+    /**
+     * Returns how many times a private key has been parsed through {@link KeyFactory}.
+     *
+     * @return the number of private key parses since startup
+     */
+    public static long getPrivateKeyParseCount() {
+        return PRIVATE_KEY_PARSE_COUNT.get();
+    }
+
+    /**
+     * Returns how many strings have been encrypted with an RSA public key.
+     *
+     * @return the number of RSA encryptions since startup
+     */
+    public static long getEncryptCount() {
+        return ENCRYPT_COUNT.sum();
+    }
+
+    /**
+     * Returns how many strings have been decrypted with an RSA private key.
+     *
+     * @return the number of RSA decryptions since startup
+     */
+    public static long getDecryptCount() {
+        return DECRYPT_COUNT.sum();
+    }
+
+    /**
+     * Returns how many data keys have been wrapped with an RSA public key.
+     *
+     * @return the number of key wraps since startup
+     */
+    public static long getWrapCount() {
+        return WRAP_COUNT.sum();
+    }
+
+    /**
+     * Returns how many data keys have been unwrapped with an RSA private key.
+     *
+     * @return the number of key unwraps since startup
+     */
+    public static long getUnwrapCount() {
+        return UNWRAP_COUNT.sum();
+    }
+
+    /**
+     * Returns how many signatures have been created.
+     *
+     * @return the number of signatures since startup
+     */
+    public static long getSignCount() {
+        return SIGN_COUNT.sum();
+    }
+
+    /**
+     * Returns how many signatures have been verified.
+     *
+     * @return the number of verifications since startup
+     */
+    public static long getVerifyCount() {
+        return VERIFY_COUNT.sum();
+    }
 }
@@ -0,0 +1,73 @@
+package com.example.security.util;
+
+import com.example.security.dto.request.SignedTransactionLeg;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Canonical byte encoding of a signed transfer batch, the input of its SHA256withRSA signature.
+ * <p>
+ * The encoding does not depend on the wire format, field order or whitespace of the request:
+ * <ul>
+ *     <li>the domain tag {@code transfer-batch}, then the payload version as a 4-byte big-endian int;</li>
+ *     <li>the wrapped data key, then the number of legs as a 4-byte int;</li>
+ *     <li>per leg, in request order: transactionID, account, inDebt, have and time.</li>
+ * </ul>
+ * Every byte string is written as a 4-byte big-endian length followed by its bytes, a missing value
+ * as length -1. Strings are their exact UTF-8 bytes, without trimming or Unicode normalization,
+ * so the signer must sign exactly what it sends.
+ */
+public final class SignedBatchEncoding {
+
+    private static final byte[] DOMAIN = "transfer-batch".getBytes(StandardCharsets.UTF_8);
+    private static final int MISSING = -1;
+
+    private SignedBatchEncoding() {
+    }
+
+    /**
+     * Encodes a signed batch.
+     *
+     * @param version the payload version
+     * @param encryptedKey the RSA-wrapped data key
+     * @param legs the legs in request order
+     * @return the bytes to sign or verify
+     */
+    public static byte[] encode(int version, byte[] encryptedKey, List<SignedTransactionLeg> legs) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + legs.size() * 128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            writeBytes(out, DOMAIN);
+            out.writeInt(version);
+            writeBytes(out, encryptedKey);
+            out.writeInt(legs.size());
+            for (SignedTransactionLeg leg : legs) {
+                writeString(out, leg.getTransactionID());
+                writeBytes(out, leg.getAccount());
+                writeString(out, leg.getInDebt());
+                writeString(out, leg.getHave());
+                writeString(out, leg.getTime());
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex.getMessage(), ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(MISSING);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.security.util;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+/**
+ * Hibernate id generator backed by {@link TimeOrderedIds}, see {@link TimeOrderedId}.
+ */
+public class TimeOrderedIdGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return TimeOrderedIds.nextId();
+    }
+}
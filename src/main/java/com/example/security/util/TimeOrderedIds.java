@@ -0,0 +1,58 @@
+package com.example.security.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates 64-bit, time-ordered ids: 41 bits of milliseconds since 2024-01-01T00:00:00Z,
+ * 10 bits of node id and 12 bits of per-millisecond sequence.
+ * Ids are unique per node and increase monotonically, even across a clock step back,
+ * because a burst or a backwards clock simply keeps counting from the last issued value.
+ */
+public final class TimeOrderedIds {
+
+    private static final long EPOCH_MILLIS = 1704067200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * Last issued (timestamp << SEQUENCE_BITS | sequence), shared by every caller in the JVM.
+     */
+    private static final AtomicLong LAST_STATE = new AtomicLong();
+
+    private static volatile long nodeId;
+
+    private TimeOrderedIds() {
+    }
+
+    /**
+     * Set the node id embedded in generated ids. Every node writing to the same table needs a distinct value.
+     *
+     * @param configuredNodeId the node id, between 0 and 1023
+     */
+    public static void configureNode(long configuredNodeId) {
+        if (configuredNodeId < 0 || configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID + ": " + configuredNodeId);
+        }
+        nodeId = configuredNodeId;
+    }
+
+    /**
+     * Generate the next id.
+     *
+     * @return a unique, time-ordered id
+     */
+    public static long nextId() {
+        while (true) {
+            long last = LAST_STATE.get();
+            long now = System.currentTimeMillis() - EPOCH_MILLIS;
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (LAST_STATE.compareAndSet(last, next)) {
+                return ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                        | (nodeId << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+}
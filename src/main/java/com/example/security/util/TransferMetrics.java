@@ -0,0 +1,55 @@
+package com.example.security.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency timers for the individual stages of the transfer flow, published as
+ * {@code transfer.stage{stage=...}} with percentile histograms.
+ */
+@Component
+@RequiredArgsConstructor
+public class TransferMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+
+    /**
+     * Start timing a stage.
+     *
+     * @return the running sample
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * Stop a running sample and record it against the given stage.
+     *
+     * @param sample the sample returned by {@link #start()}
+     * @param stage  the stage name
+     */
+    public void stop(Timer.Sample sample, String stage) {
+        sample.stop(stageTimer(stage));
+    }
+
+    /**
+     * Get the timer of a stage, registering it on first use.
+     *
+     * @param stage the stage name
+     * @return the stage timer
+     */
+    public Timer stageTimer(String stage) {
+        return stageTimers.computeIfAbsent(stage, name -> Timer.builder("transfer.stage")
+                .description("Latency of a transfer flow stage")
+                .tag("stage", name)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.security.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of opaque records in fixed-size, memory-mapped segment files.
+ * <p>
+ * Each record is stored as {@code [int length][int crc32c][bytes]}; a zero length marks the end of
+ * the written part of a segment. A checkpoint file holds the position up to which records have been
+ * applied; segments entirely before it are deleted. On open, every record after the checkpoint is
+ * returned by {@link #recover()}; a torn record at the tail of a segment fails its checksum and ends
+ * that segment. New records always go to a fresh segment after a restart.
+ */
+public class WriteAheadLog implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final boolean fsync;
+
+    private Position checkpoint;
+    private long segment;
+    private MappedByteBuffer buffer;
+
+    /**
+     * Open the log in the given directory, creating it if needed.
+     *
+     * @param directory   the directory holding segments and the checkpoint
+     * @param segmentSize the size of each segment file in bytes
+     * @param fsync       whether {@link #append(byte[], Consumer)} forces the record to disk before returning
+     * @throws IOException if the directory or checkpoint cannot be read
+     */
+    public WriteAheadLog(Path directory, int segmentSize, boolean fsync) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.fsync = fsync;
+        this.checkpoint = readCheckpoint();
+        List<Long> segments = listSegments();
+        this.segment = segments.isEmpty() ? checkpoint.segment() : segments.get(segments.size() - 1);
+    }
+
+    /**
+     * Read every record written after the checkpoint, in append order.
+     *
+     * @return the records with their end positions
+     * @throws IOException if a segment cannot be read
+     */
+    public synchronized List<Entry> recover() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        for (long recoveredSegment : listSegments()) {
+            if (recoveredSegment < checkpoint.segment()) {
+                continue;
+            }
+            int offset = recoveredSegment == checkpoint.segment() ? checkpoint.offset() : 0;
+            try (FileChannel channel = FileChannel.open(segmentPath(recoveredSegment))) {
+                MappedByteBuffer segmentBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                while (offset + HEADER_SIZE <= segmentBuffer.limit()) {
+                    int length = segmentBuffer.getInt(offset);
+                    if (length <= 0 || offset + HEADER_SIZE + length > segmentBuffer.limit()) {
+                        break;
+                    }
+                    byte[] data = new byte[length];
+                    segmentBuffer.get(offset + HEADER_SIZE, data);
+                    if (crc(data) != segmentBuffer.getInt(offset + Integer.BYTES)) {
+                        break;
+                    }
+                    offset += HEADER_SIZE + length;
+                    entries.add(new Entry(data, new Position(recoveredSegment, offset)));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Append a record. With fsync enabled the record is on disk when this method returns.
+     * The listener is called with the end position while the log is still locked, so listeners
+     * see records in log order; a consumer queueing records there never checkpoints past a record
+     * it has not seen yet. The record is forced to disk before the listener runs: if that fails,
+     * the record is unwritten again, so it is neither queued nor replayed after a restart.
+     *
+     * @param data the record bytes
+     * @param appended called with the position right after the record, to be passed to
+     *                 {@link #checkpoint(Position)} once the record is applied
+     * @throws IOException if a new segment cannot be created or the record cannot be forced to disk
+     */
+    public void append(byte[] data, Consumer<Position> appended) throws IOException {
+        int recordSize = HEADER_SIZE + data.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Record of " + data.length + " bytes does not fit in a segment of " + segmentSize + " bytes");
+        }
+        synchronized (this) {
+            if (buffer == null || buffer.position() + recordSize > segmentSize) {
+                openNextSegment();
+            }
+            int offset = buffer.position();
+            buffer.putInt(offset + Integer.BYTES, crc(data));
+            buffer.put(offset + HEADER_SIZE, data);
+            // the length goes last so a reader never sees a length without its payload
+            buffer.putInt(offset, data.length);
+            if (fsync) {
+                try {
+                    buffer.force(offset, recordSize);
+                } catch (UncheckedIOException ex) {
+                    // a zero length ends the segment here for recovery; the next append overwrites it
+                    buffer.putInt(offset, 0);
+                    throw ex.getCause();
+                }
+            }
+            buffer.position(offset + recordSize);
+            appended.accept(new Position(segment, offset + recordSize));
+        }
+    }
+
+    /**
+     * Record that every record up to the given position has been applied and delete older segments.
+     *
+     * @param position the end position of the last applied record
+     * @throws IOException if the checkpoint cannot be written
+     */
+    public synchronized void checkpoint(Position position) throws IOException {
+        if (position.compareTo(checkpoint) <= 0) {
+            return;
+        }
+        Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        Files.writeString(temporary, position.segment() + " " + position.offset(), StandardCharsets.UTF_8);
+        Files.move(temporary, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpoint = position;
+        for (long oldSegment : listSegments()) {
+            if (oldSegment < position.segment()) {
+                Files.deleteIfExists(segmentPath(oldSegment));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        segment++;
+        try (RandomAccessFile file = new RandomAccessFile(segmentPath(segment).toFile(), "rw")) {
+            buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path checkpointPath = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(checkpointPath)) {
+            return new Position(0, 0);
+        }
+        String[] parts = Files.readString(checkpointPath, StandardCharsets.UTF_8).trim().split(" ");
+        return new Position(Long.parseLong(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long segmentNumber) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segmentNumber, SEGMENT_SUFFIX));
+    }
+
+    private static int crc(byte[] data) {
+        CRC32C crc = new CRC32C();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * A position in the log: a segment number and a byte offset inside it.
+     */
+    public record Position(long segment, int offset) implements Comparable<Position> {
+
+        @Override
+        public int compareTo(Position other) {
+            int bySegment = Long.compare(segment, other.segment);
+            return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+        }
+    }
+
+    /**
+     * A recovered record and the position right after it.
+     */
+    public record Entry(byte[] data, Position end) {
+    }
+}
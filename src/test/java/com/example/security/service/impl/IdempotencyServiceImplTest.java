@@ -0,0 +1,132 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.IdempotencyKey;
+import com.example.security.dto.response.ApiResponse;
+import com.example.security.enity.IdempotencyRecord;
+import com.example.security.exception.ConflictException;
+import com.example.security.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+class IdempotencyServiceImplTest {
+
+    private static final IdempotencyKey FIRST_REQUEST = IdempotencyKey.of("key-1", "first".getBytes(StandardCharsets.UTF_8));
+
+    private static final IdempotencyKey OTHER_REQUEST = IdempotencyKey.of("key-1", "other".getBytes(StandardCharsets.UTF_8));
+
+    private static final ApiResponse<Object> RESPONSE = ApiResponse.success(Constant.SUCCESS, "stored");
+
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private ObjectProvider<StringRedisTemplate> redisTemplateProvider;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        idempotencyRecordRepository = Mockito.mock(IdempotencyRecordRepository.class);
+        when(idempotencyRecordRepository.findById(Mockito.anyString())).thenReturn(Optional.empty());
+        redisTemplateProvider = Mockito.mock(ObjectProvider.class);
+        idempotencyService = new IdempotencyServiceImpl(idempotencyRecordRepository, redisTemplateProvider,
+                JsonMapper.builder().findAndAddModules().build(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(idempotencyService, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(idempotencyService, "ttl", Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        idempotencyService.shutdown();
+    }
+
+    @Test
+    void sameRequestIsReplayed() {
+        idempotencyService.init();
+        idempotencyService.remember(FIRST_REQUEST, RESPONSE);
+
+        assertThat(idempotencyService.find(FIRST_REQUEST)).contains(RESPONSE);
+    }
+
+    @Test
+    void differentRequestIsAConflict() {
+        idempotencyService.init();
+        idempotencyService.remember(FIRST_REQUEST, RESPONSE);
+
+        assertThatThrownBy(() -> idempotencyService.find(OTHER_REQUEST))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage(Constant.IDEMPOTENCY_KEY_REUSED);
+    }
+
+    @Test
+    void storedFingerprintIsCheckedOnTheDatabasePath() {
+        idempotencyService.init();
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.of(storedRecord(FIRST_REQUEST.fingerprint())));
+
+        assertThat(idempotencyService.find(FIRST_REQUEST)).isPresent();
+        assertThatThrownBy(() -> idempotencyService.find(OTHER_REQUEST)).isInstanceOf(ConflictException.class);
+    }
+
+    @Test
+    void recordWithoutFingerprintMatchesAnyRequest() {
+        idempotencyService.init();
+        when(idempotencyRecordRepository.findById("key-1")).thenReturn(Optional.of(storedRecord(null)));
+
+        assertThat(idempotencyService.find(OTHER_REQUEST)).isPresent();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void slowRedisDoesNotHoldUpTheCaller() {
+        StringRedisTemplate redisTemplate = Mockito.mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOperations = Mockito.mock(ValueOperations.class);
+        when(redisTemplateProvider.getObject()).thenReturn(redisTemplate);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        CountDownLatch redisReleased = new CountDownLatch(1);
+        doAnswer(invocation -> redisReleased.await(10, TimeUnit.SECONDS)).when(valueOperations)
+                .set(anyString(), anyString(), any(Duration.class));
+        ReflectionTestUtils.setField(idempotencyService, "redisEnabled", true);
+        ReflectionTestUtils.setField(idempotencyService, "redisWriteQueueCapacity", 1);
+        idempotencyService.init();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            idempotencyService.remember(new IdempotencyKey("key-" + i, FIRST_REQUEST.fingerprint()), RESPONSE);
+        }
+        redisReleased.countDown();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(idempotencyService.find(new IdempotencyKey("key-4", FIRST_REQUEST.fingerprint()))).contains(RESPONSE);
+    }
+
+    private static IdempotencyRecord storedRecord(String requestFingerprint) {
+        IdempotencyRecord idempotencyRecord = new IdempotencyRecord();
+        idempotencyRecord.setIdempotencyKey("key-1");
+        idempotencyRecord.setRequestFingerprint(requestFingerprint);
+        idempotencyRecord.setResponseBody("{\"message\":\"" + Constant.SUCCESS + "\",\"data\":\"stored\"}");
+        idempotencyRecord.setCreatedAt(LocalDateTime.now());
+        return idempotencyRecord;
+    }
+}
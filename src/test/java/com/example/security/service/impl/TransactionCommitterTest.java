@@ -0,0 +1,77 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.exception.ServiceOverloadedException;
+import com.example.security.mapper.TransactionMapper;
+import com.example.security.service.IIdempotencyService;
+import com.example.security.util.TransferMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class TransactionCommitterTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private TransactionCommitter transactionCommitter;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        transactionCommitter.shutdown();
+    }
+
+    @Test
+    void commitAsyncFailsWithServiceOverloadedWhenTheGroupMissesTheDeadline() {
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return List.of(List.of());
+        });
+        transactionCommitter = transactionCommitter(transactionTemplate);
+
+        CompletableFuture<?> result = transactionCommitter.commitAsync(List.of(), null);
+
+        assertThatThrownBy(result::join)
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(ServiceOverloadedException.class)
+                .hasMessage(Constant.GROUP_COMMIT_TIMEOUT);
+    }
+
+    @Test
+    void commitAsyncCompletesWithTheGroupResult() {
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenReturn(List.of(List.of()));
+        transactionCommitter = transactionCommitter(transactionTemplate);
+
+        assertThat(transactionCommitter.commitAsync(List.of(), null).join()).isEmpty();
+    }
+
+    private TransactionCommitter transactionCommitter(TransactionTemplate transactionTemplate) {
+        TransactionCommitter committer = new TransactionCommitter(Mockito.mock(TransactionWriter.class), Mockito.mock(TransactionMapper.class),
+                Mockito.mock(IIdempotencyService.class), transactionTemplate, Mockito.mock(TransferMetrics.class),
+                new SimpleMeterRegistry(), Mockito.mock(PersistScheduler.class));
+        ReflectionTestUtils.setField(committer, "groupCommitEnabled", true);
+        ReflectionTestUtils.setField(committer, "maxDelayMs", 1L);
+        ReflectionTestUtils.setField(committer, "maxBatchSize", 10);
+        ReflectionTestUtils.setField(committer, "commitTimeoutMs", 100L);
+        ReflectionTestUtils.setField(committer, "retryAfterSeconds", 1L);
+        committer.init();
+        return committer;
+    }
+}
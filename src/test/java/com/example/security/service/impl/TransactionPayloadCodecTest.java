@@ -0,0 +1,146 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.request.SignedTransactionLeg;
+import com.example.security.dto.request.TransactionPayload;
+import com.example.security.exception.BadRequestException;
+import com.example.security.util.RsaKeyProvider;
+import com.example.security.util.RsaUtil;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionPayloadCodecTest {
+
+    private static final List<TransactionPayload> LEGS = List.of(
+            new TransactionPayload("t1", "1234567890", "10", "0", "2025-01-02T03:04:05"),
+            new TransactionPayload("t2", "0987654321", "0", "10", "2025-01-02T03:04:05"));
+
+    private static ExecutorService cryptoExecutor;
+
+    private static KeyPair keyPair;
+
+    private TransactionPayloadCodec transactionPayloadCodec;
+
+    @BeforeAll
+    static void setUpKeys() throws Exception {
+        cryptoExecutor = Executors.newFixedThreadPool(2);
+        keyPair = RsaUtil.generateKeyPair();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        cryptoExecutor.shutdownNow();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RsaUtil rsaUtil = new RsaUtil();
+        RsaKeyProvider rsaKeyProvider = new RsaKeyProvider(meterRegistry);
+        ReflectionTestUtils.setField(rsaKeyProvider, "publicKeyString", rsaUtil.publicKeyToString(keyPair.getPublic()));
+        ReflectionTestUtils.setField(rsaKeyProvider, "privateKeyString", rsaUtil.privateKeyToString(keyPair.getPrivate()));
+        ReflectionTestUtils.setField(rsaKeyProvider, "publicKeyPath", "");
+        ReflectionTestUtils.setField(rsaKeyProvider, "privateKeyPath", "");
+        rsaKeyProvider.init();
+
+        CryptoScheduler cryptoScheduler = new CryptoScheduler(cryptoExecutor, meterRegistry);
+        transactionPayloadCodec = new TransactionPayloadCodec(rsaKeyProvider, JsonMapper.builder().findAndAddModules().build(),
+                new TransactionRequestDecryptor(cryptoScheduler), cryptoScheduler);
+        ReflectionTestUtils.setField(transactionPayloadCodec, "payloadMode", Constant.PAYLOAD_MODE_SIGNED);
+    }
+
+    @Test
+    void signedRequestRoundTrips() throws Exception {
+        ListTransactionRequest listTransactionRequest = transactionPayloadCodec.encode(LEGS);
+
+        assertThat(listTransactionRequest.getVersion()).isEqualTo(Constant.PAYLOAD_VERSION_SIGNED);
+        assertThat(transactionPayloadCodec.decryptAsync(listTransactionRequest).join()).isEqualTo(LEGS);
+    }
+
+    @Test
+    void changedTransactionIdFailsTheSignature() throws Exception {
+        assertInvalidSignature(request -> request.getLegs().get(0).setTransactionID("t3"));
+    }
+
+    @Test
+    void changedInDebtFailsTheSignature() throws Exception {
+        assertInvalidSignature(request -> request.getLegs().get(0).setInDebt("1000"));
+    }
+
+    @Test
+    void changedHaveFailsTheSignature() throws Exception {
+        assertInvalidSignature(request -> request.getLegs().get(1).setHave("1000"));
+    }
+
+    @Test
+    void changedTimeFailsTheSignature() throws Exception {
+        assertInvalidSignature(request -> request.getLegs().get(1).setTime("2025-01-02T03:04:06"));
+    }
+
+    @Test
+    void changedAccountByteFailsTheSignature() throws Exception {
+        assertInvalidSignature(request -> request.getLegs().get(0).getAccount()[0] ^= 1);
+    }
+
+    @Test
+    void changedWrappedKeyFailsTheSignature() throws Exception {
+        assertInvalidSignature(request -> request.getEncryptedKey()[0] ^= 1);
+    }
+
+    @Test
+    void swappedLegsFailTheSignature() throws Exception {
+        assertInvalidSignature(request -> {
+            List<SignedTransactionLeg> legs = new ArrayList<>(request.getLegs());
+            Collections.reverse(legs);
+            request.setLegs(legs);
+        });
+    }
+
+    @Test
+    void truncatedSignatureIsRejected() throws Exception {
+        // RSA verification throws SignatureException for a signature of the wrong length
+        assertInvalidSignature(request -> request.setSignature(Arrays.copyOf(request.getSignature(), request.getSignature().length - 1)));
+    }
+
+    @Test
+    void missingLegFieldIsRejected() throws Exception {
+        ListTransactionRequest listTransactionRequest = transactionPayloadCodec.encode(LEGS);
+        listTransactionRequest.getLegs().get(0).setTime(null);
+
+        assertThatThrownBy(() -> transactionPayloadCodec.decryptAsync(listTransactionRequest).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(Constant.SIGNED_LEG_FIELDS_REQUIRED);
+    }
+
+    private void assertInvalidSignature(Consumer<ListTransactionRequest> tamper) throws Exception {
+        ListTransactionRequest listTransactionRequest = transactionPayloadCodec.encode(LEGS);
+        tamper.accept(listTransactionRequest);
+
+        assertThatThrownBy(() -> transactionPayloadCodec.decryptAsync(listTransactionRequest).join())
+                .isInstanceOf(CompletionException.class)
+                .cause()
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage(Constant.INVALID_BATCH_SIGNATURE);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.security.service.impl;
+
+import com.example.security.constant.Constant;
+import com.example.security.dto.request.ListTransactionRequest;
+import com.example.security.dto.response.TransferTicketResponse;
+import com.example.security.enity.Transaction;
+import com.example.security.exception.ServiceOverloadedException;
+import com.example.security.repository.TransactionRepository;
+import com.example.security.service.ITransactionService;
+import com.example.security.util.TransferMetrics;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+class WriteBehindServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    private WriteBehindServiceImpl writeBehindService;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        writeBehindService.shutdown();
+    }
+
+    @Test
+    void submitIsRejectedWhileTheDatabaseIsDownAndTheLimitIsReached() throws Exception {
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        doThrow(new CannotCreateTransactionException("database down")).when(transactionTemplate).executeWithoutResult(any());
+        writeBehindService = writeBehindService(transactionTemplate, 2);
+
+        TransferTicketResponse first = writeBehindService.submit(new ListTransactionRequest());
+        writeBehindService.submit(new ListTransactionRequest());
+
+        assertThatThrownBy(() -> writeBehindService.submit(new ListTransactionRequest()))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .hasMessage(Constant.WRITE_BEHIND_SATURATED);
+        assertThat(writeBehindService.getTicket(first.getTicketId()).getStatus()).isEqualTo(Constant.TICKET_PENDING);
+    }
+
+    @Test
+    void writtenEntriesFreeTheirSlots() throws Exception {
+        writeBehindService = writeBehindService(Mockito.mock(TransactionTemplate.class), 1);
+
+        TransferTicketResponse first = writeBehindService.submit(new ListTransactionRequest());
+        awaitStatus(first.getTicketId(), Constant.TICKET_COMMITTED);
+
+        assertThat(writeBehindService.submit(new ListTransactionRequest()).getStatus()).isEqualTo(Constant.TICKET_PENDING);
+    }
+
+    private void awaitStatus(long ticketId, String status) throws InterruptedException {
+        for (int i = 0; i < 100 && !status.equals(writeBehindService.getTicket(ticketId).getStatus()); i++) {
+            Thread.sleep(20);
+        }
+        assertThat(writeBehindService.getTicket(ticketId).getStatus()).isEqualTo(status);
+    }
+
+    private WriteBehindServiceImpl writeBehindService(TransactionTemplate transactionTemplate, int maxPending) throws Exception {
+        ITransactionService transactionService = Mockito.mock(ITransactionService.class);
+        when(transactionService.decryptTransactions(any())).thenAnswer(invocation -> List.of(leg()));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WriteBehindServiceImpl service = new WriteBehindServiceImpl(transactionService, Mockito.mock(TransactionRepository.class),
+                Mockito.mock(TransactionWriter.class), transactionTemplate, JsonMapper.builder().findAndAddModules().build(),
+                new TransferMetrics(meterRegistry), meterRegistry);
+        ReflectionTestUtils.setField(service, "directory", directory);
+        ReflectionTestUtils.setField(service, "segmentSize", 1 << 16);
+        ReflectionTestUtils.setField(service, "batchSize", 10);
+        ReflectionTestUtils.setField(service, "retryDelayMs", 50L);
+        ReflectionTestUtils.setField(service, "ticketTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(service, "maxPending", maxPending);
+        ReflectionTestUtils.setField(service, "retryAfterSeconds", 1L);
+        service.init();
+        return service;
+    }
+
+    private static Transaction leg() {
+        Transaction transaction = new Transaction();
+        transaction.setTransactionID("t1");
+        transaction.setAccount("account");
+        transaction.setInDebt(BigDecimal.TEN);
+        transaction.setHave(BigDecimal.ZERO);
+        transaction.setTime(LocalDateTime.now());
+        return transaction;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.security.util;
+
+import com.example.security.constant.Constant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AesUtilTest {
+
+    private static final String LEGACY_KEY = "legacy-aes-key16";
+
+    private static final String K1 = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII));
+
+    private static final String K2 = Base64.getEncoder().encodeToString("fedcba9876543210".getBytes(StandardCharsets.US_ASCII));
+
+    @AfterEach
+    void reset() {
+        AesUtil.useMode(Constant.AES_MODE_CBC);
+        AesUtil.useKeyring(AesKeyring.empty());
+    }
+
+    @Test
+    void keyIdOfReadsTheKeyIdPrefix() {
+        assertThat(AesUtil.keyIdOf("k1$QUJDRA==")).isEqualTo("k1");
+        assertThat(AesUtil.keyIdOf("k1$gcm$QUJDRA==")).isEqualTo("k1");
+        assertThat(AesUtil.keyIdOf("gcm$QUJDRA==")).isNull();
+        assertThat(AesUtil.keyIdOf("QUJDRA==")).isNull();
+    }
+
+    @Test
+    void eachStoredFormatDecryptsWithTheKeyItNames() throws Exception {
+        AesUtil.useKeyring(AesKeyring.of(LEGACY_KEY, null, Map.of("k1", K1)));
+        String legacyCbc = AesUtil.encrypt("legacy cbc");
+        AesUtil.useMode(Constant.AES_MODE_GCM);
+        String legacyGcm = AesUtil.encrypt("legacy gcm");
+
+        AesUtil.useKeyring(AesKeyring.of(LEGACY_KEY, "k1", Map.of("k1", K1)));
+        String keyedGcm = AesUtil.encrypt("keyed gcm");
+        AesUtil.useMode(Constant.AES_MODE_CBC);
+        String keyedCbc = AesUtil.encrypt("keyed cbc");
+
+        assertThat(legacyCbc).doesNotContain("$");
+        assertThat(legacyGcm).startsWith("gcm$");
+        assertThat(keyedGcm).startsWith("k1$gcm$");
+        assertThat(keyedCbc).startsWith("k1$").doesNotContain("gcm$");
+
+        assertThat(AesUtil.decrypt(legacyCbc)).isEqualTo("legacy cbc");
+        assertThat(AesUtil.decrypt(legacyGcm)).isEqualTo("legacy gcm");
+        assertThat(AesUtil.decrypt(keyedGcm)).isEqualTo("keyed gcm");
+        assertThat(AesUtil.decrypt(keyedCbc)).isEqualTo("keyed cbc");
+    }
+
+    @Test
+    void byteBufferDecryptConsumesTheHeader() throws Exception {
+        AesUtil.useKeyring(AesKeyring.of(null, "k1", Map.of("k1", K1)));
+        AesUtil.useMode(Constant.AES_MODE_GCM);
+        byte[] stored = AesUtil.encrypt("buffer").getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer source = ByteBuffer.allocateDirect(stored.length).put(stored).flip();
+        ByteBuffer target = ByteBuffer.allocate(stored.length);
+
+        AesUtil.decryptFromBase64(source, target);
+
+        assertThat(new String(target.array(), 0, target.position(), StandardCharsets.UTF_8)).isEqualTo("buffer");
+    }
+
+    @Test
+    void needsReencryptionComparesKeyIdAndMode() throws Exception {
+        AesUtil.useKeyring(AesKeyring.of(LEGACY_KEY, null, Map.of("k1", K1, "k2", K2)));
+        String legacyCbc = AesUtil.encrypt("value");
+        AesUtil.useKeyring(AesKeyring.of(LEGACY_KEY, "k1", Map.of("k1", K1, "k2", K2)));
+        String k1Cbc = AesUtil.encrypt("value");
+        AesUtil.useMode(Constant.AES_MODE_GCM);
+        String k1Gcm = AesUtil.encrypt("value");
+
+        assertThat(AesUtil.needsReencryption(k1Gcm)).isFalse();
+        assertThat(AesUtil.needsReencryption(k1Cbc)).isTrue();
+        assertThat(AesUtil.needsReencryption(legacyCbc)).isTrue();
+
+        AesUtil.useMode(Constant.AES_MODE_CBC);
+        assertThat(AesUtil.needsReencryption(k1Cbc)).isFalse();
+        assertThat(AesUtil.needsReencryption(k1Gcm)).isTrue();
+
+        AesUtil.useKeyring(AesKeyring.of(LEGACY_KEY, "k2", Map.of("k1", K1, "k2", K2)));
+        assertThat(AesUtil.needsReencryption(k1Cbc)).isTrue();
+        assertThat(AesUtil.reencrypt(k1Cbc)).startsWith("k2$");
+        assertThat(AesUtil.decrypt(AesUtil.reencrypt(k1Gcm))).isEqualTo("value");
+    }
+
+    @Test
+    void unknownKeyIdIsRejected() throws Exception {
+        AesUtil.useKeyring(AesKeyring.of(null, "k2", Map.of("k2", K2)));
+        String stored = AesUtil.encrypt("value");
+
+        AesUtil.useKeyring(AesKeyring.of(null, "k1", Map.of("k1", K1)));
+
+        assertThatThrownBy(() -> AesUtil.decrypt(stored)).isInstanceOf(InvalidKeyException.class);
+    }
+
+    @Test
+    void legacyValueWithoutLegacyKeyIsRejected() throws Exception {
+        AesUtil.useKeyring(AesKeyring.of(LEGACY_KEY, null, Map.of()));
+        AesUtil.useMode(Constant.AES_MODE_GCM);
+        String legacyGcm = AesUtil.encrypt("value");
+        AesUtil.useMode(Constant.AES_MODE_CBC);
+        String legacyCbc = AesUtil.encrypt("value");
+
+        AesUtil.useKeyring(AesKeyring.of(null, "k1", Map.of("k1", K1)));
+
+        assertThatThrownBy(() -> AesUtil.decrypt(legacyCbc)).isInstanceOf(InvalidKeyException.class);
+        assertThatThrownBy(() -> AesUtil.decrypt(legacyGcm)).isInstanceOf(InvalidKeyException.class);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.security.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Base64BuffersTest {
+
+    private static final int MAX_LENGTH = 64;
+
+    @Test
+    void encodeMatchesTheJdkForAllPaddingVariants() {
+        Random random = new Random(42);
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            for (boolean direct : new boolean[]{false, true}) {
+                ByteBuffer target = allocate(Base64Buffers.encodedLength(length), direct);
+
+                int written = Base64Buffers.encode(ByteBuffer.wrap(data), target);
+
+                assertThat(written).isEqualTo(target.position());
+                assertThat(new String(bytes(target.flip()), StandardCharsets.US_ASCII))
+                        .as("length %d", length)
+                        .isEqualTo(Base64.getEncoder().encodeToString(data));
+            }
+        }
+    }
+
+    @Test
+    void decodeMatchesTheJdkForAllPaddingVariants() {
+        Random random = new Random(7);
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            byte[] encoded = Base64.getEncoder().encode(data);
+            for (boolean direct : new boolean[]{false, true}) {
+                ByteBuffer source = allocate(encoded.length, direct).put(encoded).flip();
+                ByteBuffer target = allocate(Base64Buffers.maxDecodedLength(encoded.length), direct);
+
+                int written = Base64Buffers.decode(source, target);
+
+                assertThat(written).isEqualTo(length);
+                assertThat(source.hasRemaining()).isFalse();
+                assertThat(bytes(target.flip())).as("length %d", length).isEqualTo(data);
+            }
+        }
+    }
+
+    @Test
+    void positionsAreAdvancedFromTheCurrentPosition() {
+        ByteBuffer source = ByteBuffer.wrap("xxhello".getBytes(StandardCharsets.US_ASCII)).position(2);
+        ByteBuffer target = ByteBuffer.allocate(3 + Base64Buffers.encodedLength(5)).position(3);
+
+        Base64Buffers.encode(source, target);
+
+        assertThat(source.position()).isEqualTo(7);
+        assertThat(target.position()).isEqualTo(3 + 8);
+        assertThat(new String(target.array(), 3, 8, StandardCharsets.US_ASCII)).isEqualTo("aGVsbG8=");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"A", "ABCDE", "AB=", "Zm9v YmFy", "Zm9v\nYmFy", "Zm9-", "Zm9_", "Zmé9"})
+    void invalidInputIsRejected(String input) {
+        assertRejectedLikeTheJdk(input);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"====", "A===", "AB=C", "=ABC", "Zg==Zg==", "Zm8=Zm9v", "Zm9v=", "Zg=a"})
+    void badPaddingIsRejected(String input) {
+        assertRejectedLikeTheJdk(input);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"AB", "ABC", "Zm9vYg", "Zm9vYmE"})
+    void unpaddedInputIsRejectedAlthoughTheJdkAcceptsIt(String input) {
+        assertThatThrownBy(() -> Base64Buffers.decode(ascii(input), ByteBuffer.allocate(input.length())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void tooSmallTargetIsRejected() {
+        assertThatThrownBy(() -> Base64Buffers.encode(ByteBuffer.wrap(new byte[4]), ByteBuffer.allocate(7)))
+                .isInstanceOf(BufferOverflowException.class);
+        assertThatThrownBy(() -> Base64Buffers.decode(ascii("Zm9vYmFy"), ByteBuffer.allocate(5)))
+                .isInstanceOf(BufferOverflowException.class);
+    }
+
+    private static void assertRejectedLikeTheJdk(String input) {
+        assertThatThrownBy(() -> Base64.getDecoder().decode(input)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base64Buffers.decode(ascii(input), ByteBuffer.allocate(input.length())))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static ByteBuffer ascii(String input) {
+        return ByteBuffer.wrap(input.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static ByteBuffer allocate(int capacity, boolean direct) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
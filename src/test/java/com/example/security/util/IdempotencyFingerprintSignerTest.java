@@ -0,0 +1,47 @@
+package com.example.security.util;
+
+import com.example.security.dto.request.IdempotencyKey;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyFingerprintSignerTest {
+
+    private static final IdempotencyKey KEY = IdempotencyKey.of("key-1", "request".getBytes(StandardCharsets.UTF_8));
+
+    private final IdempotencyFingerprintSigner fingerprintSigner = new IdempotencyFingerprintSigner("forwarder-secret");
+
+    @Test
+    void signedFingerprintIsAccepted() {
+        assertThat(fingerprintSigner.verify(KEY.value(), KEY.fingerprint(), fingerprintSigner.sign(KEY))).isTrue();
+    }
+
+    @Test
+    void signatureIsBoundToKeyAndFingerprint() {
+        String signature = fingerprintSigner.sign(KEY);
+        IdempotencyKey other = IdempotencyKey.of("key-1", "other".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(fingerprintSigner.verify("key-2", KEY.fingerprint(), signature)).isFalse();
+        assertThat(fingerprintSigner.verify(KEY.value(), other.fingerprint(), signature)).isFalse();
+    }
+
+    @Test
+    void missingOrForeignSignatureIsRejected() {
+        IdempotencyFingerprintSigner otherSecret = new IdempotencyFingerprintSigner("other-secret");
+
+        assertThat(fingerprintSigner.verify(KEY.value(), KEY.fingerprint(), null)).isFalse();
+        assertThat(fingerprintSigner.verify(KEY.value(), KEY.fingerprint(), "not base64!")).isFalse();
+        assertThat(fingerprintSigner.verify(KEY.value(), KEY.fingerprint(), otherSecret.sign(KEY))).isFalse();
+    }
+
+    @Test
+    void withoutSecretNothingIsTrusted() {
+        IdempotencyFingerprintSigner unconfigured = new IdempotencyFingerprintSigner("");
+
+        assertThat(unconfigured.verify(KEY.value(), KEY.fingerprint(), fingerprintSigner.sign(KEY))).isFalse();
+        assertThatThrownBy(() -> unconfigured.sign(KEY)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.security.util;
+
+import com.example.security.dto.request.SignedTransactionLeg;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SignedBatchEncodingTest {
+
+    private static final byte[] ENCRYPTED_KEY = {1, 2, 3};
+
+    private static final byte[] ACCOUNT = {9, 8};
+
+    @Test
+    void encodesTheDocumentedLayout() {
+        SignedTransactionLeg leg = new SignedTransactionLeg("t1", ACCOUNT, "10", "0", "2025-01-02T03:04:05");
+
+        ByteBuffer expected = ByteBuffer.allocate(256);
+        putString(expected, "transfer-batch");
+        expected.putInt(3);
+        putBytes(expected, ENCRYPTED_KEY);
+        expected.putInt(1);
+        putString(expected, "t1");
+        putBytes(expected, ACCOUNT);
+        putString(expected, "10");
+        putString(expected, "0");
+        putString(expected, "2025-01-02T03:04:05");
+
+        byte[] encoded = SignedBatchEncoding.encode(3, ENCRYPTED_KEY, List.of(leg));
+
+        assertThat(encoded).isEqualTo(copyOf(expected));
+    }
+
+    @Test
+    void encodingIsStable() {
+        List<SignedTransactionLeg> legs = List.of(
+                new SignedTransactionLeg("t1", ACCOUNT, "10", "0", "2025-01-02T03:04:05"),
+                new SignedTransactionLeg("t2", ACCOUNT, "0", "10", "2025-01-02T03:04:05"));
+        List<SignedTransactionLeg> copy = List.of(
+                new SignedTransactionLeg("t1", ACCOUNT.clone(), "10", "0", "2025-01-02T03:04:05"),
+                new SignedTransactionLeg("t2", ACCOUNT.clone(), "0", "10", "2025-01-02T03:04:05"));
+
+        assertThat(SignedBatchEncoding.encode(3, ENCRYPTED_KEY, legs))
+                .isEqualTo(SignedBatchEncoding.encode(3, ENCRYPTED_KEY.clone(), copy));
+    }
+
+    @Test
+    void missingAndEmptyValuesEncodeDifferently() {
+        SignedTransactionLeg missing = new SignedTransactionLeg(null, null, "10", "0", "2025-01-02T03:04:05");
+        SignedTransactionLeg empty = new SignedTransactionLeg("", new byte[0], "10", "0", "2025-01-02T03:04:05");
+
+        assertThat(SignedBatchEncoding.encode(3, ENCRYPTED_KEY, List.of(missing)))
+                .isNotEqualTo(SignedBatchEncoding.encode(3, ENCRYPTED_KEY, List.of(empty)));
+        assertThat(SignedBatchEncoding.encode(3, null, List.of(empty)))
+                .isNotEqualTo(SignedBatchEncoding.encode(3, new byte[0], List.of(empty)));
+    }
+
+    @Test
+    void fieldBoundariesAreEncoded() {
+        SignedTransactionLeg first = new SignedTransactionLeg("t1", ACCOUNT, "10", "0", "2025-01-02T03:04:05");
+        SignedTransactionLeg shifted = new SignedTransactionLeg("t1", ACCOUNT, "1", "00", "2025-01-02T03:04:05");
+
+        assertThat(SignedBatchEncoding.encode(3, ENCRYPTED_KEY, List.of(first)))
+                .isNotEqualTo(SignedBatchEncoding.encode(3, ENCRYPTED_KEY, List.of(shifted)));
+    }
+
+    @Test
+    void legOrderAndVersionAreEncoded() {
+        SignedTransactionLeg sender = new SignedTransactionLeg("t1", ACCOUNT, "10", "0", "2025-01-02T03:04:05");
+        SignedTransactionLeg receiver = new SignedTransactionLeg("t2", ACCOUNT, "0", "10", "2025-01-02T03:04:05");
+        byte[] encoded = SignedBatchEncoding.encode(3, ENCRYPTED_KEY, List.of(sender, receiver));
+
+        assertThat(encoded).isNotEqualTo(SignedBatchEncoding.encode(3, ENCRYPTED_KEY, List.of(receiver, sender)));
+        assertThat(encoded).isNotEqualTo(SignedBatchEncoding.encode(4, ENCRYPTED_KEY, List.of(sender, receiver)));
+    }
+
+    private static void putString(ByteBuffer buffer, String value) {
+        putBytes(buffer, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    private static byte[] copyOf(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.position()];
+        buffer.flip().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.security.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteAheadLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversRecordsInAppendOrder() throws IOException {
+        List<WriteAheadLog.Position> positions = new ArrayList<>();
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            for (String record : List.of("a", "bb", "ccc")) {
+                writeAheadLog.append(bytes(record), positions::add);
+            }
+        }
+
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            List<WriteAheadLog.Entry> entries = writeAheadLog.recover();
+            assertThat(entries).extracting(entry -> text(entry.data())).containsExactly("a", "bb", "ccc");
+            assertThat(entries).extracting(WriteAheadLog.Entry::end).containsExactlyElementsOf(positions);
+        }
+    }
+
+    @Test
+    void recoversOnlyRecordsAfterTheCheckpoint() throws IOException {
+        List<WriteAheadLog.Position> positions = new ArrayList<>();
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            for (String record : List.of("a", "b", "c")) {
+                writeAheadLog.append(bytes(record), positions::add);
+            }
+            writeAheadLog.checkpoint(positions.get(1));
+            // an older position never moves the checkpoint back
+            writeAheadLog.checkpoint(positions.get(0));
+        }
+
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            assertThat(writeAheadLog.recover()).extracting(entry -> text(entry.data())).containsExactly("c");
+        }
+    }
+
+    @Test
+    void stopsAtARecordWithABadChecksum() throws IOException {
+        List<WriteAheadLog.Position> positions = new ArrayList<>();
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            for (String record : List.of("first", "second", "third")) {
+                writeAheadLog.append(bytes(record), positions::add);
+            }
+        }
+        // flip one payload byte of the second record
+        writeByte(positions.get(0).segment(), positions.get(0).offset() + HEADER_SIZE, (byte) 'X');
+
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            assertThat(writeAheadLog.recover()).extracting(entry -> text(entry.data())).containsExactly("first");
+        }
+    }
+
+    @Test
+    void stopsAtATornTail() throws IOException {
+        List<WriteAheadLog.Position> positions = new ArrayList<>();
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            for (String record : List.of("first", "second")) {
+                writeAheadLog.append(bytes(record), positions::add);
+            }
+        }
+        // a length that runs past the end of the segment, as left by a torn write
+        writeInt(positions.get(1).segment(), positions.get(1).offset(), SEGMENT_SIZE);
+
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            assertThat(writeAheadLog.recover()).extracting(entry -> text(entry.data())).containsExactly("first", "second");
+        }
+    }
+
+    @Test
+    void appendsToAFreshSegmentAfterARestart() throws IOException {
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            writeAheadLog.append(bytes("before"), position -> {
+            });
+        }
+        List<WriteAheadLog.Position> positions = new ArrayList<>();
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            writeAheadLog.append(bytes("after"), positions::add);
+        }
+
+        assertThat(positions.get(0).segment()).isEqualTo(2);
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            assertThat(writeAheadLog.recover()).extracting(entry -> text(entry.data())).containsExactly("before", "after");
+        }
+    }
+
+    @Test
+    void checkpointDeletesSegmentsBeforeIt() throws IOException {
+        byte[] record = new byte[SEGMENT_SIZE / 2];
+        List<WriteAheadLog.Position> positions = new ArrayList<>();
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            // one record per segment, since two do not fit with their headers
+            for (int i = 0; i < 4; i++) {
+                writeAheadLog.append(record, positions::add);
+            }
+            assertThat(segments()).hasSize(4);
+
+            writeAheadLog.checkpoint(positions.get(2));
+        }
+
+        assertThat(segments()).containsExactly(3L, 4L);
+        try (WriteAheadLog writeAheadLog = new WriteAheadLog(directory, SEGMENT_SIZE, true)) {
+            assertThat(writeAheadLog.recover()).extracting(WriteAheadLog.Entry::end).containsExactly(positions.get(3));
+        }
+    }
+
+    private List<Long> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("wal-"))
+                    .map(name -> Long.parseLong(name.substring("wal-".length(), name.length() - ".log".length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void writeByte(long segment, int offset, byte value) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segmentPath(segment).toFile(), "rw")) {
+            file.seek(offset);
+            file.writeByte(value);
+        }
+    }
+
+    private void writeInt(long segment, int offset, int value) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(segmentPath(segment).toFile(), "rw")) {
+            file.seek(offset);
+            file.writeInt(value);
+        }
+    }
+
+    private Path segmentPath(long segment) {
+        return directory.resolve(String.format("wal-%020d.log", segment));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}